@@ -1,5 +1,11 @@
 package com.example.demo;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.example.demo.ai.NTupleNetwork;
+import com.example.demo.model.ReplayRecorder;
+import com.example.demo.utils.FontRegistry;
 import com.example.demo.view.GameScene;
 import com.example.demo.view.MainMenu;
 
@@ -60,6 +66,7 @@ public class Main extends Application {
      * 
      * <p>This method performs the following initialization sequence:
      * <ol>
+     *   <li>Starts preloading the shared fonts in the background</li>
      *   <li>Creates the end game overlay scene</li>
      *   <li>Initializes the main menu scene with decorative elements</li>
      *   <li>Initializes the game scene and controller</li>
@@ -72,6 +79,9 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        // Read the bundled font off the FX thread while the scenes are built
+        FontRegistry.preloadAsync(20, 22, 24, 48, 56, 72);
+
         // Initialize necessary scenes
         Scene endGameScene = createScene(new Group(), Color.rgb(250, 20, 100, 0.2));
         Group endGameRoot = (Group) endGameScene.getRoot();
@@ -85,6 +95,30 @@ public class Main extends Application {
         this.gameRoot = new Group();
         this.gameScene = new Scene(gameRoot, WIDTH, HEIGHT, Color.rgb(189, 177, 92));
         this.gameController = new GameScene();
+        // -Dgame.canvas=true draws the board into a single Canvas
+        gameController.setCanvasRenderer(Boolean.getBoolean("game.canvas"));
+        // -Dgame.speculate=false stops precomputing hints between moves
+        gameController.setSpeculativeHints(Boolean.parseBoolean(System.getProperty("game.speculate", "true")));
+        // -Dgame.autoplay=POLICY picks the bot the A key starts (default expectimax; ntuple needs game.weights)
+        gameController.setAutoplayPolicy(System.getProperty("game.autoplay", "expectimax"));
+        // -Dgame.weights=FILE scores 4x4 hints with n-tuple weights from the Trainer
+        String weights = System.getProperty("game.weights");
+        if (weights != null) {
+            try {
+                gameController.setHintEvaluator(NTupleNetwork.open(Path.of(weights)));
+            } catch (IOException e) {
+                System.err.println("[Main] Could not load hint weights " + weights + ": " + e.getMessage());
+            }
+        }
+        // -Dgame.replays=FILE appends every game to a replay log; an empty value turns recording off
+        String replays = System.getProperty("game.replays", "replays/games.c2r");
+        if (!replays.isEmpty()) {
+            try {
+                gameController.setReplayRecorder(ReplayRecorder.open(Path.of(replays)));
+            } catch (IOException e) {
+                System.err.println("[Main] Could not open replay log " + replays + ": " + e.getMessage());
+            }
+        }
 
         // Prepare the main menu
         MainMenu mainMenu = new MainMenu();
@@ -115,6 +149,15 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Called by the JavaFX runtime when the application exits; stops the
+     * game's background threads and flushes the replay log.
+     */
+    @Override
+    public void stop() {
+        if (gameController != null) gameController.shutdown();
+    }
+
     /**
      * Creates a new Scene with the specified root node and background color.
      * The scene dimensions are set to the application's standard WIDTH and HEIGHT.
@@ -0,0 +1,107 @@
+package com.example.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.example.demo.ai.SimulationRunner;
+import com.example.demo.ai.SimulationStats;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Levels;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Headless entry point that plays many games with an automated policy and
+ * prints throughput and result statistics.
+ *
+ * <p>Only the model and {@code ai} packages are used, so no JavaFX class is
+ * loaded. Example:</p>
+ * <pre>
+ * java -cp target/classes com.example.demo.Simulation --games 1000000 --policy greedy
+ * </pre>
+ *
+ * <p>Options (all optional):</p>
+ * <ul>
+ *   <li>{@code --games N}: games per grid size (default 10000)</li>
+ *   <li>{@code --sizes 4,8,10}: grid sizes (default: every level)</li>
+ *   <li>{@code --policy random|greedy|corner|expectimax|montecarlo}: move policy (default greedy)</li>
+ *   <li>{@code --threads T}: worker threads (default: all cores)</li>
+ *   <li>{@code --seed S}: makes the run reproducible (default: unseeded)</li>
+ *   <li>{@code --max-moves M}: cut games off after M moves, 0 for no limit
+ *       (default 100000; large boards can otherwise run for millions of moves)</li>
+ * </ul>
+ *
+ * @since 1.1
+ */
+public final class Simulation {
+
+    private Simulation() {
+    }
+
+    /**
+     * Runs the simulation described by the command line.
+     *
+     * @param args options, see the class documentation
+     */
+    public static void main(String[] args) {
+        long games = 10_000;
+        List<Integer> sizes = new ArrayList<>();
+        String policy = "greedy";
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        int maxMoves = 100_000;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(require(args[i], value));
+                case "--sizes" -> {
+                    for (String s : require(args[i], value).split(",")) sizes.add(Integer.parseInt(s.trim()));
+                }
+                case "--policy" -> policy = require(args[i], value);
+                case "--threads" -> threads = Integer.parseInt(require(args[i], value));
+                case "--seed" -> seed = Long.parseLong(require(args[i], value));
+                case "--max-moves" -> maxMoves = Integer.parseInt(require(args[i], value));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+        if (sizes.isEmpty()) {
+            for (int level = 0; level < Levels.count(); level++) sizes.add(Levels.gridSize(level));
+        }
+
+        SpawnRng root = (seed != null) ? new SpawnRng(seed) : new SpawnRng();
+        try (SimulationRunner runner = new SimulationRunner(threads, maxMoves)) {
+            for (int size : sizes) {
+                SimulationStats stats = runner.run(size, policy, games, root.split());
+                print(size, policy, runner.threads(), stats);
+            }
+        }
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+        return value;
+    }
+
+    private static void print(int size, String policy, int threads, SimulationStats stats) {
+        double seconds = stats.elapsedNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%dx%d, policy %s, %d games on %d threads%n",
+                size, size, policy, stats.games(), threads);
+        System.out.printf(Locale.ROOT, "  %.2f s, %.0f games/s, %.0f moves/s%n",
+                seconds, stats.games() / seconds, stats.moves() / seconds);
+        if (stats.truncated() > 0) {
+            System.out.printf(Locale.ROOT, "  %d games cut off by the move limit%n", stats.truncated());
+        }
+        System.out.printf(Locale.ROOT, "  score p50 %d  p90 %d  p99 %d  max %d%n",
+                stats.scorePercentile(50), stats.scorePercentile(90),
+                stats.scorePercentile(99), stats.scorePercentile(100));
+        StringBuilder tiles = new StringBuilder("  max tile:");
+        for (int e = 1; e < 32; e++) {
+            long n = stats.maxTileCount(e);
+            if (n == 0) continue;
+            tiles.append(String.format(Locale.ROOT, "  %d %.2f%%", BitBoardEngine.toValue(e), 100.0 * n / stats.games()));
+        }
+        System.out.println(tiles);
+    }
+}
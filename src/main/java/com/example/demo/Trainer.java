@@ -0,0 +1,111 @@
+package com.example.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import com.example.demo.ai.NTupleNetwork;
+import com.example.demo.ai.SimulationStats;
+import com.example.demo.ai.TDTrainer;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Headless entry point that trains n-tuple weights for the 4x4 board by
+ * self-play and saves them to a memory-mapped file.
+ *
+ * <p>Running it again on the same file continues training. The game loads the
+ * weights for its hints with {@code -Dgame.weights=FILE}. Example:</p>
+ * <pre>
+ * java -cp target/classes com.example.demo.Trainer --weights ntuple.bin --games 100000
+ * </pre>
+ *
+ * <p>Options:</p>
+ * <ul>
+ *   <li>{@code --weights FILE}: weight file, created if missing (required)</li>
+ *   <li>{@code --tuples small|standard}: tuple set of a new file (default standard, 256 MiB)</li>
+ *   <li>{@code --games N}: games to play (default 100000)</li>
+ *   <li>{@code --report R}: games between progress lines and flushes (default 10000)</li>
+ *   <li>{@code --alpha A}: learning rate (default 0.1)</li>
+ *   <li>{@code --threads T}: worker threads (default: all cores)</li>
+ *   <li>{@code --seed S}: makes the spawns reproducible (default: unseeded)</li>
+ * </ul>
+ *
+ * @since 1.1
+ */
+public final class Trainer {
+
+    private Trainer() {
+    }
+
+    /**
+     * Runs the training described by the command line.
+     *
+     * @param args options, see the class documentation
+     */
+    public static void main(String[] args) {
+        Path weights = null;
+        int[][] tuples = NTupleNetwork.STANDARD;
+        long games = 100_000;
+        long report = 10_000;
+        double alpha = TDTrainer.DEFAULT_ALPHA;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--weights" -> weights = Path.of(require(args[i], value));
+                case "--tuples" -> tuples = switch (require(args[i], value)) {
+                    case "small" -> NTupleNetwork.SMALL;
+                    case "standard" -> NTupleNetwork.STANDARD;
+                    default -> throw new IllegalArgumentException("Unknown tuple set: " + value);
+                };
+                case "--games" -> games = Long.parseLong(require(args[i], value));
+                case "--report" -> report = Long.parseLong(require(args[i], value));
+                case "--alpha" -> alpha = Double.parseDouble(require(args[i], value));
+                case "--threads" -> threads = Integer.parseInt(require(args[i], value));
+                case "--seed" -> seed = Long.parseLong(require(args[i], value));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+        if (weights == null) throw new IllegalArgumentException("Missing --weights");
+        if (report < 1) report = games;
+
+        SpawnRng root = (seed != null) ? new SpawnRng(seed) : new SpawnRng();
+        try (NTupleNetwork network = NTupleNetwork.openOrCreate(weights, tuples);
+             TDTrainer trainer = new TDTrainer(network, threads, alpha)) {
+            for (long done = 0; done < games; ) {
+                long round = Math.min(report, games - done);
+                SimulationStats stats = trainer.train(round, root.split());
+                network.force();
+                done += round;
+                print(done, trainer.threads(), stats);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Missing value for " + option);
+        return value;
+    }
+
+    private static void print(long done, int threads, SimulationStats stats) {
+        double seconds = stats.elapsedNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%d games trained, last %d on %d threads in %.2f s (%.0f moves/s)%n",
+                done, stats.games(), threads, seconds, stats.moves() / seconds);
+        System.out.printf(Locale.ROOT, "  score p50 %d  p90 %d  max %d%n",
+                stats.scorePercentile(50), stats.scorePercentile(90), stats.scorePercentile(100));
+        StringBuilder tiles = new StringBuilder("  max tile:");
+        for (int e = 1; e < 32; e++) {
+            long n = stats.maxTileCount(e);
+            if (n == 0) continue;
+            tiles.append(String.format(Locale.ROOT, "  %d %.2f%%", BitBoardEngine.toValue(e), 100.0 * n / stats.games()));
+        }
+        System.out.println(tiles);
+    }
+}
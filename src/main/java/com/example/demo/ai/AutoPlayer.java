@@ -0,0 +1,308 @@
+package com.example.demo.ai;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Plays a game with a {@link MovePolicy} on a worker thread, for watching a bot
+ * in the real UI.
+ *
+ * <p>The worker owns a copy of the board and the session's {@link SpawnRng}
+ * until {@link #stop()} returns. After every move it publishes a
+ * {@link Frame} through an {@link AtomicReference}. The UI takes the latest one
+ * with {@link #poll()} once per pulse and hands it back with
+ * {@link #recycle(Frame)}. Neither side ever blocks. A frame the UI has not
+ * taken yet is overwritten by the next one and counted in
+ * {@link #skippedFrames()}, so an engine running faster than the display skips
+ * intermediate positions instead of queueing them. Frames are recycled, so at
+ * most three of them exist and full-speed play does not allocate.</p>
+ *
+ * <p>{@link #setMovesPerSecond(int)} paces the worker from one move per second
+ * up to {@link #UNLIMITED}. The game stops on its own when no move is left or
+ * a tile reaches the given exponent, and the last frame is then marked
+ * {@link Frame#finished() finished}.</p>
+ *
+ * @since 1.1
+ */
+public final class AutoPlayer {
+
+    /** Speed value for moving as fast as the policy allows. */
+    public static final int UNLIMITED = 0;
+
+    /**
+     * One published position. The cell array is reused once the frame is
+     * recycled, so read it before calling {@link AutoPlayer#recycle(Frame)}.
+     */
+    public static final class Frame {
+        private final byte[] cells;
+        private long score;
+        private long moves;
+        private boolean finished;
+
+        private Frame(int cellCount) {
+            this.cells = new byte[cellCount];
+        }
+
+        /**
+         * Returns the tile exponents, row-major; do not modify.
+         *
+         * @return cells of the position
+         */
+        public byte[] cells() {
+            return cells;
+        }
+
+        /**
+         * Returns the score reached in this position.
+         *
+         * @return total score, including the score the game started with
+         */
+        public long score() {
+            return score;
+        }
+
+        /**
+         * Returns the number of moves played by this player so far.
+         *
+         * @return move count
+         */
+        public long moves() {
+            return moves;
+        }
+
+        /**
+         * Returns whether this is the last frame: the game ended, reached the
+         * stop tile, or the player was stopped.
+         *
+         * @return {@code true} for the last frame
+         */
+        public boolean finished() {
+            return finished;
+        }
+    }
+
+    /**
+     * Receives every move the player makes, on the worker thread.
+     */
+    @FunctionalInterface
+    public interface MoveListener {
+
+        /**
+         * Called after a move and the spawn that followed it.
+         *
+         * @param dir        the move
+         * @param board      the player's board, after the spawn; do not modify
+         * @param spawnIndex flat index of the spawned tile
+         */
+        void moved(Direction dir, BoardModel board, int spawnIndex);
+    }
+
+    private final BoardModel board;
+    private final MovePolicy policy;
+    private final SpawnRng rng;
+    private final int stopExponent;
+    private final Thread worker;
+    private MoveListener listener;
+
+    private final AtomicReference<Frame> latest = new AtomicReference<>();
+    private final AtomicReference<Frame> spare = new AtomicReference<>();
+
+    private volatile int movesPerSecond;
+    private volatile boolean stopped;
+    private volatile long skippedFrames;   // written by the worker only
+
+    // worker only; read by other threads after stop() has joined
+    private long score;
+    private long moves;
+    private long lastMoveNanos;
+
+    /**
+     * Creates a player; call {@link #start()} to begin.
+     *
+     * @param start          position to continue from; copied
+     * @param score          score already reached in that position
+     * @param policy         move chooser, used from the worker thread only
+     * @param rng            the session's spawn generator; used by the worker
+     *                       only until {@link #stop()} returns
+     * @param stopExponent   stop once a tile reaches this exponent, e.g. the
+     *                       level's target
+     * @param movesPerSecond initial speed, or {@link #UNLIMITED}
+     */
+    public AutoPlayer(BoardModel start, long score, MovePolicy policy, SpawnRng rng,
+                      int stopExponent, int movesPerSecond) {
+        this.board = new BoardModel(start.size());
+        board.copyFrom(start);
+        this.score = score;
+        this.policy = policy;
+        this.rng = rng;
+        this.stopExponent = stopExponent;
+        this.movesPerSecond = movesPerSecond;
+        this.worker = new Thread(this::play, "autoplay");
+        worker.setDaemon(true);
+    }
+
+    /**
+     * Sets the listener told about every move, e.g. to record the game. Call
+     * before {@link #start()}.
+     *
+     * @param listener move listener, or {@code null}
+     */
+    public void setMoveListener(MoveListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the worker thread.
+     */
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * Changes the speed; takes effect before the next move.
+     *
+     * @param movesPerSecond moves per second (at least 1), or {@link #UNLIMITED}
+     */
+    public void setMovesPerSecond(int movesPerSecond) {
+        this.movesPerSecond = movesPerSecond;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Returns the current speed.
+     *
+     * @return moves per second, or {@link #UNLIMITED}
+     */
+    public int movesPerSecond() {
+        return movesPerSecond;
+    }
+
+    /**
+     * Takes the latest frame not seen yet.
+     *
+     * @return the newest frame, or {@code null} if nothing moved since the last poll
+     */
+    public Frame poll() {
+        return latest.getAndSet(null);
+    }
+
+    /**
+     * Hands a polled frame back for reuse.
+     *
+     * @param frame frame returned by {@link #poll()}
+     */
+    public void recycle(Frame frame) {
+        spare.compareAndSet(null, frame);
+    }
+
+    /**
+     * Returns how many frames were replaced before anyone polled them.
+     *
+     * @return skipped frame count
+     */
+    public long skippedFrames() {
+        return skippedFrames;
+    }
+
+    /**
+     * Stops the worker and waits until it has returned, at most for the move
+     * it is choosing. Afterwards {@link #board()}, {@link #score()} and the
+     * spawn generator may be used by the caller again.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Returns the player's board. Only valid after {@link #stop()}.
+     *
+     * @return the final position, including its empty-cell order
+     */
+    public BoardModel board() {
+        return board;
+    }
+
+    /**
+     * Returns the score reached. Only valid after {@link #stop()}.
+     *
+     * @return total score
+     */
+    public long score() {
+        return score;
+    }
+
+    /**
+     * Returns the number of moves played. Only valid after {@link #stop()}.
+     *
+     * @return move count
+     */
+    public long moves() {
+        return moves;
+    }
+
+    private void play() {
+        lastMoveNanos = System.nanoTime() - 1_000_000_000L; // the first move is due at once
+        while (!stopped && board.canMove() && board.maxExponent() < stopExponent) {
+            pace();
+            if (stopped) break;
+            Direction dir = policy.choose(board);
+            if (dir == null) break;
+            int gained = board.move(dir);
+            if (gained < 0) break;
+            score += gained;
+            moves++;
+            int spawned = board.spawn(rng);
+            if (listener != null) listener.moved(dir, board, spawned);
+            publish(false);
+        }
+        publish(true);
+    }
+
+    /**
+     * Waits until the next move is due at the current speed. A speed change
+     * unparks the worker, which then recomputes the deadline.
+     */
+    private void pace() {
+        while (!stopped) {
+            int speed = movesPerSecond;
+            if (speed <= UNLIMITED) return;
+            long interval = 1_000_000_000L / speed;
+            long now = System.nanoTime();
+            long due = lastMoveNanos + interval;
+            if (now >= due) {
+                // keep the cadence, but a long stall does not earn a burst of catch-up moves
+                lastMoveNanos = (now - due < interval) ? due : now;
+                return;
+            }
+            LockSupport.parkNanos(this, due - now);
+        }
+    }
+
+    private void publish(boolean finished) {
+        Frame frame = spare.getAndSet(null);
+        if (frame == null) frame = new Frame(board.cellCount());
+        board.copyTo(frame.cells);
+        frame.score = score;
+        frame.moves = moves;
+        frame.finished = finished;
+        Frame unseen = latest.getAndSet(frame);
+        if (unseen != null) {
+            skippedFrames++;
+            spare.compareAndSet(null, unseen);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.ai;
+
+/**
+ * Static evaluation of a packed 4x4 board, used at the leaves of a search.
+ *
+ * <p>Values only need to order positions: higher is better and a lost
+ * position counts as 0, which is what the searches assign to a board with no
+ * legal move. Implementations must be safe to call from several threads.</p>
+ *
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface BoardEvaluator {
+
+    /**
+     * Evaluates a position.
+     *
+     * @param board packed board
+     * @return value of the position; higher is better
+     */
+    double evaluate(long board);
+
+    /**
+     * Returns the hand-written row heuristic of {@link Expectimax}.
+     *
+     * @return the default evaluator
+     */
+    static BoardEvaluator heuristic() {
+        return Expectimax::evaluate;
+    }
+}
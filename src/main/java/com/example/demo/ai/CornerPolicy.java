@@ -0,0 +1,27 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * The classic corner strategy: keep tiles in the bottom-left corner by
+ * preferring down, then left, then right, and moving up only when forced.
+ *
+ * @since 1.1
+ */
+public final class CornerPolicy implements MovePolicy {
+
+    private static final Direction[] PREFERENCE = {
+        Direction.DOWN, Direction.LEFT, Direction.RIGHT, Direction.UP
+    };
+
+    private final ScratchBoard scratch = new ScratchBoard();
+
+    @Override
+    public Direction choose(BoardModel board) {
+        for (Direction dir : PREFERENCE) {
+            if (scratch.tryMove(board, dir) >= 0) return dir;
+        }
+        return null;
+    }
+}
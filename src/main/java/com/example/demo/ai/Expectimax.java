@@ -0,0 +1,203 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+
+/**
+ * Expectimax search over the packed 4x4 board of {@link BitBoardEngine}.
+ *
+ * <p>Max nodes try the four moves. Chance nodes average over every empty cell
+ * and both spawn values; the game spawns a 2 or a 4 with equal probability
+ * (see {@code SpawnRng}). Branches whose probability falls below
+ * {@link #PROBABILITY_CUTOFF} are evaluated directly instead of expanded.
+ * Chance-node values go into a {@link SharedTranspositionTable}, since the
+ * same position is reached through many move orders. Several instances may
+ * share one table.</p>
+ *
+ * <p>Leaves are scored by a {@link BoardEvaluator}, by default a heuristic
+ * precomputed per row: empty cells, mergeable neighbours, monotonic rows and
+ * a penalty on large tile sums. It is applied to the rows and to the columns
+ * (as rows of the transposed board). A trained {@link NTupleNetwork} can take
+ * its place.</p>
+ *
+ * <p>Instances keep their table between searches. An instance is not
+ * thread-safe, but its table is.</p>
+ *
+ * @since 1.1
+ */
+public final class Expectimax {
+
+    /** Chance branches less likely than this are not expanded. */
+    static final double PROBABILITY_CUTOFF = 1e-4;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Heuristic value of each possible row. */
+    private static final float[] ROW_HEURISTIC = new float[1 << 16];
+
+    static {
+        for (int row = 0; row < ROW_HEURISTIC.length; row++) {
+            int[] line = {row & 0xF, (row >>> 4) & 0xF, (row >>> 8) & 0xF, (row >>> 12) & 0xF};
+            double sum = 0;
+            int empty = 0, merges = 0, prev = 0, counter = 0;
+            for (int e : line) {
+                sum += Math.pow(e, 3.5);
+                if (e == 0) {
+                    empty++;
+                    continue;
+                }
+                if (prev == e) {
+                    counter++;
+                } else if (counter > 0) {
+                    merges += 1 + counter;
+                    counter = 0;
+                }
+                prev = e;
+            }
+            if (counter > 0) merges += 1 + counter;
+
+            double monoLeft = 0, monoRight = 0;
+            for (int i = 1; i < 4; i++) {
+                double a = Math.pow(line[i - 1], 4), b = Math.pow(line[i], 4);
+                if (line[i - 1] > line[i]) monoLeft += a - b; else monoRight += b - a;
+            }
+            ROW_HEURISTIC[row] = (float) (200_000 + 270 * empty + 700 * merges
+                    - 47 * Math.min(monoLeft, monoRight) - 11 * sum);
+        }
+    }
+
+    /**
+     * Outcome of a search.
+     *
+     * @param move  best move, or {@code null} if no move changes the board
+     * @param value expected heuristic value of that move
+     * @param depth number of moves searched ahead
+     * @param nodes positions visited
+     */
+    public record Result(Direction move, double value, int depth, long nodes) {
+    }
+
+    private final SharedTranspositionTable table;
+    private final BoardEvaluator evaluator;
+    private long nodes;
+
+    /**
+     * Creates a search with a table of {@code 2^18} entries.
+     */
+    public Expectimax() {
+        this(new SharedTranspositionTable(18));
+    }
+
+    /**
+     * Creates a search using the given table.
+     *
+     * @param table transposition table, possibly shared with other searches
+     */
+    public Expectimax(SharedTranspositionTable table) {
+        this(table, BoardEvaluator.heuristic());
+    }
+
+    /**
+     * Creates a search with its own leaf evaluation.
+     *
+     * @param table     transposition table; share it only with searches using
+     *                  the same evaluator
+     * @param evaluator leaf evaluation
+     */
+    public Expectimax(SharedTranspositionTable table, BoardEvaluator evaluator) {
+        this.table = table;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Searches a position to a fixed depth.
+     *
+     * @param board packed board
+     * @param depth moves to look ahead (at least 1)
+     * @return best move and statistics
+     */
+    public Result search(long board, int depth) {
+        nodes = 0;
+        Direction best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Direction dir : DIRECTIONS) {
+            long next = BitBoardEngine.move(board, dir);
+            if (next == board) continue;
+            double value = chance(next, depth - 1, 1.0);
+            if (value > bestValue) {
+                bestValue = value;
+                best = dir;
+            }
+        }
+        return new Result(best, bestValue, depth, nodes);
+    }
+
+    /**
+     * Picks the depth for a position: deeper when few cells are empty, since
+     * chance nodes then have fewer children.
+     *
+     * @param board packed board
+     * @return 3 or 4
+     */
+    public static int depthFor(long board) {
+        return emptyCount(board) >= 6 ? 3 : 4;
+    }
+
+    /**
+     * Evaluates a position with the row heuristic.
+     *
+     * @param board packed board
+     * @return heuristic value; higher is better
+     */
+    public static double evaluate(long board) {
+        long t = BitBoardEngine.transpose(board);
+        return ROW_HEURISTIC[(int) (board & 0xFFFF)] + ROW_HEURISTIC[(int) ((board >>> 16) & 0xFFFF)]
+             + ROW_HEURISTIC[(int) ((board >>> 32) & 0xFFFF)] + ROW_HEURISTIC[(int) (board >>> 48)]
+             + ROW_HEURISTIC[(int) (t & 0xFFFF)] + ROW_HEURISTIC[(int) ((t >>> 16) & 0xFFFF)]
+             + ROW_HEURISTIC[(int) ((t >>> 32) & 0xFFFF)] + ROW_HEURISTIC[(int) (t >>> 48)];
+    }
+
+    private double max(long board, int depth, double prob) {
+        nodes++;
+        double best = 0; // no move left: the game is lost
+        for (Direction dir : DIRECTIONS) {
+            long next = BitBoardEngine.move(board, dir);
+            if (next != board) best = Math.max(best, chance(next, depth - 1, prob));
+        }
+        return best;
+    }
+
+    private double chance(long board, int depth, double prob) {
+        nodes++;
+        if (depth <= 0 || prob < PROBABILITY_CUTOFF) return evaluator.evaluate(board);
+
+        double cached = table.get(board, depth);
+        if (!Double.isNaN(cached)) return cached;
+
+        int empty = emptyCount(board);
+        double childProb = prob / (2 * empty);
+        double sum = 0;
+        for (int shift = 0; shift < 64; shift += 4) {
+            if (((board >>> shift) & 0xF) != 0) continue;
+            sum += max(board | (1L << shift), depth, childProb);
+            sum += max(board | (2L << shift), depth, childProb);
+        }
+        double value = sum / (2 * empty);
+        table.put(board, depth, value);
+        return value;
+    }
+
+    /**
+     * Counts the empty cells of a packed board.
+     *
+     * @param board packed board
+     * @return number of zero nibbles
+     */
+    static int emptyCount(long board) {
+        // fold each nibble to one bit set iff the nibble is non-zero
+        long x = board | (board >>> 1);
+        x |= x >>> 2;
+        x &= 0x1111111111111111L;
+        return 16 - Long.bitCount(x);
+    }
+}
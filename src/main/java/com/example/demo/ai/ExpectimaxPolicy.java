@@ -0,0 +1,57 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * Plays the move found by a shallow {@link Expectimax} search.
+ *
+ * <p>All instances created by {@link MovePolicy#create(String, long)} share
+ * one off-heap {@link SharedTranspositionTable}, so simulation threads reuse
+ * each other's work without locking. The search needs the packed 4x4 board;
+ * on other grid sizes the policy plays like {@link GreedyPolicy}.</p>
+ *
+ * @since 1.1
+ */
+public final class ExpectimaxPolicy implements MovePolicy {
+
+    /** Search depth used by simulations. */
+    static final int DEPTH = 2;
+
+    /** Table shared by every policy from {@link MovePolicy#create(String, long)}. */
+    private static final class Shared {
+        static final SharedTranspositionTable TABLE = new SharedTranspositionTable(20);
+    }
+
+    private final Expectimax search;
+    private final int depth;
+    private final byte[] cells = new byte[BitBoardEngine.SIZE * BitBoardEngine.SIZE];
+    private final GreedyPolicy fallback = new GreedyPolicy();
+
+    /**
+     * Creates a policy that searches {@link #DEPTH} moves ahead using the table
+     * shared by all such policies.
+     */
+    public ExpectimaxPolicy() {
+        this(Shared.TABLE, DEPTH);
+    }
+
+    /**
+     * Creates a policy with its own settings.
+     *
+     * @param table transposition table, possibly shared
+     * @param depth moves to look ahead
+     */
+    public ExpectimaxPolicy(SharedTranspositionTable table, int depth) {
+        this.search = new Expectimax(table);
+        this.depth = depth;
+    }
+
+    @Override
+    public Direction choose(BoardModel board) {
+        if (board.size() != BitBoardEngine.SIZE) return fallback.choose(board);
+        board.copyTo(cells);
+        return search.search(BitBoardEngine.pack(cells), depth).move();
+    }
+}
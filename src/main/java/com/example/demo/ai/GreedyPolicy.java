@@ -0,0 +1,31 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * Plays the move with the highest immediate score, breaking ties by the number
+ * of empty cells it leaves.
+ *
+ * @since 1.1
+ */
+public final class GreedyPolicy implements MovePolicy {
+
+    private final ScratchBoard scratch = new ScratchBoard();
+
+    @Override
+    public Direction choose(BoardModel board) {
+        Direction best = null;
+        long bestKey = -1;
+        for (Direction dir : Direction.values()) {
+            int gained = scratch.tryMove(board, dir);
+            if (gained < 0) continue;
+            long key = ((long) gained << 16) | scratch.emptyCount();
+            if (key > bestKey) {
+                bestKey = key;
+                best = dir;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.demo.ai;
+
+import java.util.function.Consumer;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+import com.example.demo.model.MoveDelta;
+import com.example.demo.model.MoveEngine;
+import com.example.demo.model.Zobrist;
+
+/**
+ * Anytime expectimax for boards of any size.
+ *
+ * <p>The 8x8 and 10x10 boards do not fit in a long, so this search works on
+ * {@code byte[]} boards with the size's {@link MoveEngine}. Positions are
+ * cached in a {@link SharedTranspositionTable} under their {@link Zobrist}
+ * hash. The root is hashed once; below it, each move folds its
+ * {@link MoveDelta} into the parent's hash and each spawn XORs in one key,
+ * so no node rescans the grid to find its key. Leaves are scored line by line with the same terms as the 4x4 row
+ * table of {@link Expectimax}, applied to every row and column. On the 4x4
+ * board a {@link BoardEvaluator} may be given instead, so that searches on
+ * either representation agree.</p>
+ *
+ * <p>{@link #search(byte[], int, int, SearchControl, Consumer)} deepens one
+ * move at a time. After each complete pass it reports that pass's best move,
+ * until the {@link SearchControl} says stop. A pass cut short is thrown away,
+ * so the result always comes from the last complete depth. Deepening also
+ * stops early when a pass reached no leaf by depth, only by the probability
+ * cutoff: a deeper pass would search the same tree again. On a large board
+ * that happens after two or three moves.</p>
+ *
+ * <p>Instances reuse scratch buffers and are not thread-safe.</p>
+ *
+ * @since 1.1
+ */
+public final class GridExpectimax {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** {@code e^4} and {@code e^3.5}, as used by the line heuristic. */
+    private static final double[] POW4 = new double[32];
+    private static final double[] POW35 = new double[32];
+
+    static {
+        for (int e = 0; e < 32; e++) {
+            POW4[e] = Math.pow(e, 4);
+            POW35[e] = Math.pow(e, 3.5);
+        }
+    }
+
+    private final SharedTranspositionTable table;
+    private final BoardEvaluator packedEvaluator;
+    private MoveEngine engine;
+    private int size;
+    private long sizeSalt;
+    private byte[][] buffers = new byte[0][];
+    private MoveDelta[] deltas = new MoveDelta[0];
+
+    private SearchControl control;
+    private boolean stopped;
+    private boolean depthLimited;
+    private long nodes;
+
+    /**
+     * Creates a search with a table of {@code 2^18} entries.
+     */
+    public GridExpectimax() {
+        this(new SharedTranspositionTable(18));
+    }
+
+    /**
+     * Creates a search using the given table.
+     *
+     * @param table transposition table, possibly shared with other searches
+     */
+    public GridExpectimax(SharedTranspositionTable table) {
+        this(table, null);
+    }
+
+    /**
+     * Creates a search that scores 4x4 leaves with the given evaluator.
+     *
+     * @param table           transposition table; share it only with searches
+     *                        using the same evaluation
+     * @param packedEvaluator evaluation of packed 4x4 boards, or {@code null}
+     *                        for the line heuristic on every size
+     */
+    public GridExpectimax(SharedTranspositionTable table, BoardEvaluator packedEvaluator) {
+        this.table = table;
+        this.packedEvaluator = packedEvaluator;
+    }
+
+    /**
+     * Searches a position, deepening until {@code maxDepth}, the deadline or
+     * cancellation.
+     *
+     * @param cells    tile exponents, row-major; unchanged
+     * @param size     board side length
+     * @param maxDepth deepest search to attempt (at least 1)
+     * @param control  deadline and cancellation; the depth-1 pass always completes
+     * @param onDepth  called with the result of each complete pass (may be {@code null})
+     * @return best move of the deepest complete pass, with that depth and the
+     *         nodes visited by all passes
+     */
+    public Expectimax.Result search(byte[] cells, int size, int maxDepth, SearchControl control,
+                                    Consumer<Expectimax.Result> onDepth) {
+        prepare(size, cells.length, maxDepth);
+        this.control = control;
+        nodes = 0;
+
+        byte[] root = cells.clone();
+        long rootHash = Zobrist.hash(root);
+        Expectimax.Result best = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (depth > 1 && control.shouldStop()) break;
+            stopped = false;
+            depthLimited = false;
+
+            Direction bestMove = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            byte[] next = buffers[depth];
+            MoveDelta delta = deltas[depth];
+            for (Direction dir : DIRECTIONS) {
+                System.arraycopy(root, 0, next, 0, root.length);
+                delta.clear();
+                if (engine.move(next, dir, delta) < 0) continue;
+                double value = chance(next, Zobrist.apply(rootHash, delta, 0), depth - 1, 1.0, depth > 1);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMove = dir;
+                }
+            }
+            if (stopped) break;
+
+            best = new Expectimax.Result(bestMove, bestValue, depth, nodes);
+            if (onDepth != null) onDepth.accept(best);
+            if (bestMove == null || !depthLimited) break;
+        }
+        return best;
+    }
+
+    /**
+     * Evaluates a board with the line heuristic.
+     *
+     * @param cells tile exponents, row-major
+     * @param size  board side length
+     * @return heuristic value; higher is better
+     */
+    public static double evaluate(byte[] cells, int size) {
+        double value = 0;
+        for (int i = 0; i < size; i++) {
+            value += line(cells, i * size, 1, size);
+            value += line(cells, i, size, size);
+        }
+        return value;
+    }
+
+    /**
+     * Scores one row or column: empty cells, merge chains and monotonicity
+     * are rewarded and large tiles penalised, like {@link Expectimax}'s rows.
+     */
+    private static double line(byte[] cells, int start, int step, int n) {
+        double sum = 0, monoLeft = 0, monoRight = 0;
+        int empty = 0, merges = 0, prev = 0, counter = 0, last = -1;
+        for (int k = 0, idx = start; k < n; k++, idx += step) {
+            int e = cells[idx];
+            sum += POW35[e];
+            if (last >= 0) {
+                if (last > e) monoLeft += POW4[last] - POW4[e]; else monoRight += POW4[e] - POW4[last];
+            }
+            last = e;
+            if (e == 0) {
+                empty++;
+                continue;
+            }
+            if (prev == e) {
+                counter++;
+            } else if (counter > 0) {
+                merges += 1 + counter;
+                counter = 0;
+            }
+            prev = e;
+        }
+        if (counter > 0) merges += 1 + counter;
+        return 200_000 + 270 * empty + 700 * merges - 47 * Math.min(monoLeft, monoRight) - 11 * sum;
+    }
+
+    private double leaf(byte[] board) {
+        if (packedEvaluator != null && size == BitBoardEngine.SIZE) {
+            return packedEvaluator.evaluate(BitBoardEngine.pack(board));
+        }
+        return evaluate(board, size);
+    }
+
+    private void prepare(int size, int cellCount, int maxDepth) {
+        if (engine == null || this.size != size) {
+            this.engine = MoveEngine.forGridSize(size);
+            this.size = size;
+            this.sizeSalt = Zobrist.key(0, 63) * size; // keeps sizes apart in a shared table
+            this.buffers = new byte[0][];
+        }
+        if (buffers.length <= maxDepth) {
+            buffers = new byte[maxDepth + 1][cellCount];
+            deltas = new MoveDelta[maxDepth + 1];
+            for (int d = 0; d <= maxDepth; d++) deltas[d] = new MoveDelta(cellCount);
+        }
+    }
+
+    private double max(byte[] board, long hash, int depth, double prob, boolean timed) {
+        nodes++;
+        byte[] next = buffers[depth];
+        MoveDelta delta = deltas[depth];
+        double best = 0; // no move left: the game is lost
+        for (Direction dir : DIRECTIONS) {
+            System.arraycopy(board, 0, next, 0, board.length);
+            delta.clear();
+            if (engine.move(next, dir, delta) < 0) continue;
+            best = Math.max(best, chance(next, Zobrist.apply(hash, delta, 0), depth - 1, prob, timed));
+        }
+        return best;
+    }
+
+    /**
+     * Averages over every spawn. The spawns are placed in {@code board} itself
+     * and removed again before returning.
+     *
+     * @param hash Zobrist hash of {@code board}, kept by the caller
+     */
+    private double chance(byte[] board, long hash, int depth, double prob, boolean timed) {
+        nodes++;
+        if (depth <= 0) {
+            depthLimited = true;
+            return leaf(board);
+        }
+        if (prob < Expectimax.PROBABILITY_CUTOFF) return leaf(board);
+        if (stopped) return 0;
+        if (timed && control.shouldStop()) {
+            stopped = true;
+            return 0;
+        }
+
+        long key = hash ^ sizeSalt;
+        double cached = table.get(key, depth);
+        if (!Double.isNaN(cached)) return cached;
+
+        int empty = 0;
+        for (byte e : board) {
+            if (e == 0) empty++;
+        }
+        double childProb = prob / (2 * empty);
+        double sum = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] != 0) continue;
+            board[i] = 1;
+            sum += max(board, hash ^ Zobrist.key(i, 1), depth, childProb, timed);
+            board[i] = 2;
+            sum += max(board, hash ^ Zobrist.key(i, 2), depth, childProb, timed);
+            board[i] = 0;
+        }
+        double value = sum / (2 * empty);
+        if (!stopped) table.put(key, depth, value);
+        return value;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small LRU cache of finished hint searches, keyed by grid size and
+ * {@link com.example.demo.model.Zobrist} hash of the position.
+ *
+ * <p>Filled by speculative searches run while the player thinks, and by
+ * ordinary hint requests. {@link #get(int, long)} counts hits and misses, so
+ * {@link #hitRate()} tells how often a hint could be served without
+ * searching. {@link #contains(int, long)} does not count, for the speculator
+ * checking whether a position is already done.</p>
+ *
+ * <p>Thread-safe.</p>
+ *
+ * @since 1.1
+ */
+public final class HintCache {
+
+    private record Key(int size, long hash) {
+    }
+
+    private final Map<Key, Expectimax.Result> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity maximum number of positions kept
+     */
+    public HintCache(int capacity) {
+        this.results = new LinkedHashMap<>(capacity + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Expectimax.Result> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Looks up a position and counts the hit or miss.
+     *
+     * @param size grid size
+     * @param hash position hash
+     * @return the cached result, or {@code null}
+     */
+    public synchronized Expectimax.Result get(int size, long hash) {
+        Expectimax.Result result = results.get(new Key(size, hash));
+        (result != null ? hits : misses).increment();
+        return result;
+    }
+
+    /**
+     * Checks whether a position is cached, without counting a lookup.
+     *
+     * @param size grid size
+     * @param hash position hash
+     * @return {@code true} if a result is cached
+     */
+    public synchronized boolean contains(int size, long hash) {
+        return results.containsKey(new Key(size, hash));
+    }
+
+    /**
+     * Stores the result of a finished search, replacing a shallower one.
+     *
+     * @param size   grid size
+     * @param hash   position hash
+     * @param result search result
+     */
+    public synchronized void put(int size, long hash, Expectimax.Result result) {
+        results.merge(new Key(size, hash), result, (old, now) -> now.depth() >= old.depth() ? now : old);
+    }
+
+    /**
+     * Drops every cached result; the counters are kept.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return hit count
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to search.
+     *
+     * @return miss count
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return hit rate in {@code [0, 1]}
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.demo.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.example.demo.model.Direction;
+import com.example.demo.model.MoveEngine;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Scores the four moves by random playouts, for boards too large for
+ * expectimax.
+ *
+ * <p>Playouts are grouped into batches of {@link #BATCH} per move. Every batch
+ * runs on its own virtual thread with a {@link SpawnRng} split from the
+ * caller's generator. Within a batch, each move's playouts share the same
+ * random stream (common random numbers), so the moves are compared on equal
+ * luck. A playout applies the move, then random moves with the game's spawn
+ * rule until the game ends or {@link #horizon} moves have passed. Its value
+ * is the score gained on the way. Boards are flat {@code byte[]} arrays moved
+ * by the size's {@link MoveEngine}.</p>
+ *
+ * <p>Batches are launched in waves of a few per core. After each wave the
+ * merged statistics are reported, with a 95% confidence interval per move, so
+ * a caller can show an estimate early and refine it. The
+ * {@link SearchControl} is checked between playouts. A stopped search keeps
+ * every finished playout, since each one is a valid sample.</p>
+ *
+ * <p>Score sums are kept as longs, so a seeded run that is not stopped gives
+ * exactly the same result every time.</p>
+ *
+ * @since 1.1
+ */
+public final class MonteCarlo implements AutoCloseable {
+
+    /** Playouts per move in one batch. */
+    static final int BATCH = 32;
+
+    /** Default playout length in moves. */
+    public static final int DEFAULT_HORIZON = 100;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int WAVE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int horizon;
+
+    /**
+     * Statistics of one move.
+     *
+     * @param move      the move
+     * @param playouts  number of playouts
+     * @param mean      mean playout score
+     * @param halfWidth half-width of the 95% confidence interval of the mean
+     */
+    public record MoveStats(Direction move, long playouts, double mean, double halfWidth) {
+    }
+
+    /**
+     * Outcome of an evaluation.
+     *
+     * @param best              move with the highest mean, or {@code null} if no move changes the board
+     * @param moves             statistics of every legal move
+     * @param playouts          playouts run over all moves
+     * @param playoutsPerSecond throughput of this evaluation
+     */
+    public record Result(Direction best, List<MoveStats> moves, long playouts, double playoutsPerSecond) {
+    }
+
+    /**
+     * Creates an evaluator with {@link #DEFAULT_HORIZON}-move playouts.
+     */
+    public MonteCarlo() {
+        this(DEFAULT_HORIZON);
+    }
+
+    /**
+     * Creates an evaluator.
+     *
+     * @param horizon moves per playout after the first one
+     */
+    public MonteCarlo(int horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Scores the moves of a position.
+     *
+     * @param cells           tile exponents, row-major; unchanged
+     * @param size            board side length
+     * @param playoutsPerMove playouts to run per move, rounded up to whole batches
+     * @param control         deadline and cancellation
+     * @param rng             generator the per-batch generators are split from
+     * @param onWave          called with the statistics so far after each wave (may be {@code null})
+     * @return statistics of every legal move
+     */
+    public Result evaluate(byte[] cells, int size, int playoutsPerMove, SearchControl control,
+                           SpawnRng rng, Consumer<Result> onWave) {
+        long t0 = System.nanoTime();
+        MoveEngine engine = MoveEngine.forGridSize(size);
+        List<Direction> legal = new ArrayList<>(DIRECTIONS.length);
+        byte[] probe = new byte[cells.length];
+        for (Direction dir : DIRECTIONS) {
+            System.arraycopy(cells, 0, probe, 0, cells.length);
+            if (engine.move(probe, dir) >= 0) legal.add(dir);
+        }
+
+        Batch total = new Batch(legal.size());
+        Result result = summarize(legal, total, t0);
+        int batches = (playoutsPerMove + BATCH - 1) / BATCH;
+        for (int done = 0; done < batches && !legal.isEmpty() && !control.shouldStop(); ) {
+            List<Future<Batch>> wave = new ArrayList<>(WAVE);
+            for (int i = 0; i < WAVE && done < batches; i++, done++) {
+                SpawnRng batchRng = rng.split();
+                wave.add(executor.submit(() -> runBatch(cells, size, legal, batchRng, control)));
+            }
+            try {
+                for (Future<Batch> f : wave) total.merge(f.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Playout failed", e.getCause());
+            }
+            result = summarize(legal, total, t0);
+            if (onWave != null) onWave.accept(result);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Batch runBatch(byte[] cells, int size, List<Direction> legal, SpawnRng rng, SearchControl control) {
+        MoveEngine engine = MoveEngine.forGridSize(size);
+        byte[] board = new byte[cells.length];
+        long[] decisions = new long[1 + 2 * horizon]; // first spawn, then a move and a spawn per step
+        Batch batch = new Batch(legal.size());
+        for (int p = 0; p < BATCH && !control.shouldStop(); p++) {
+            // the same decisions are replayed for every move
+            for (int i = 0; i < decisions.length; i++) decisions[i] = rng.nextDecision();
+            for (int m = 0; m < legal.size(); m++) {
+                System.arraycopy(cells, 0, board, 0, cells.length);
+                batch.add(m, playout(engine, board, legal.get(m), decisions));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Plays one game from {@code board}: the given first move, then random
+     * moves, drawing every choice from {@code decisions}.
+     *
+     * @return score gained
+     */
+    private int playout(MoveEngine engine, byte[] board, Direction first, long[] decisions) {
+        int score = engine.move(board, first);
+        int next = 0;
+        spawn(board, decisions[next++]);
+        for (int step = 0; step < horizon; step++) {
+            int start = (int) (decisions[next++] >>> 1) & 3;
+            int gained = -1;
+            for (int k = 0; k < 4 && gained < 0; k++) {
+                gained = engine.move(board, DIRECTIONS[(start + k) & 3]);
+            }
+            if (gained < 0) break; // game over
+            score += gained;
+            spawn(board, decisions[next++]);
+        }
+        return score;
+    }
+
+    private static void spawn(byte[] board, long decision) {
+        int empty = 0;
+        for (byte e : board) {
+            if (e == 0) empty++;
+        }
+        if (empty == 0) return;
+        int k = SpawnRng.slot(decision, empty);
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == 0 && k-- == 0) {
+                board[i] = (byte) SpawnRng.exponent(decision);
+                return;
+            }
+        }
+    }
+
+    private static Result summarize(List<Direction> legal, Batch total, long t0) {
+        List<MoveStats> moves = new ArrayList<>(legal.size());
+        Direction best = null;
+        double bestMean = Double.NEGATIVE_INFINITY;
+        long playouts = 0;
+        for (int m = 0; m < legal.size(); m++) {
+            long n = total.count[m];
+            playouts += n;
+            double mean = n == 0 ? 0 : (double) total.sum[m] / n;
+            double variance = n < 2 ? 0 : Math.max(0, ((double) total.sumSq[m] - n * mean * mean) / (n - 1));
+            moves.add(new MoveStats(legal.get(m), n, mean, 1.96 * Math.sqrt(variance / Math.max(1, n))));
+            if (mean > bestMean) {
+                bestMean = mean;
+                best = legal.get(m);
+            }
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return new Result(best, moves, playouts, seconds > 0 ? playouts / seconds : 0);
+    }
+
+    /** Score sums of a number of playouts per move. */
+    private static final class Batch {
+        final long[] count;
+        final long[] sum;
+        final long[] sumSq;
+
+        Batch(int moves) {
+            count = new long[moves];
+            sum = new long[moves];
+            sumSq = new long[moves];
+        }
+
+        void add(int move, int score) {
+            count[move]++;
+            sum[move] += score;
+            sumSq[move] += (long) score * score;
+        }
+
+        void merge(Batch other) {
+            for (int m = 0; m < count.length; m++) {
+                count[m] += other.count[m];
+                sum[m] += other.sum[m];
+                sumSq[m] += other.sumSq[m];
+            }
+        }
+    }
+}
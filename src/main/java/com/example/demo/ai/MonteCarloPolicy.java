@@ -0,0 +1,55 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Plays the move with the best mean over a fixed number of
+ * {@link MonteCarlo} playouts. Works on every grid size. Closing the policy
+ * shuts down the evaluator's virtual threads.
+ *
+ * @since 1.1
+ */
+public final class MonteCarloPolicy implements MovePolicy {
+
+    /** Playouts per move used by simulations. */
+    static final int PLAYOUTS = 2 * MonteCarlo.BATCH;
+
+    private final MonteCarlo monteCarlo = new MonteCarlo();
+    private final SpawnRng rng;
+    private final int playouts;
+    private byte[] cells = new byte[0];
+
+    /**
+     * Creates a policy with {@link #PLAYOUTS} playouts per move.
+     *
+     * @param seed seed of the playout generator
+     */
+    public MonteCarloPolicy(long seed) {
+        this(seed, PLAYOUTS);
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param seed     seed of the playout generator
+     * @param playouts playouts per move
+     */
+    public MonteCarloPolicy(long seed, int playouts) {
+        this.rng = new SpawnRng(seed);
+        this.playouts = playouts;
+    }
+
+    @Override
+    public Direction choose(BoardModel board) {
+        if (cells.length != board.cellCount()) cells = new byte[board.cellCount()];
+        board.copyTo(cells);
+        return monteCarlo.evaluate(cells, board.size(), playouts, SearchControl.unbounded(), rng, null).best();
+    }
+
+    @Override
+    public void close() {
+        monteCarlo.close();
+    }
+}
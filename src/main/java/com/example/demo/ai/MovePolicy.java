@@ -0,0 +1,52 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * Chooses the next move for an automated player.
+ *
+ * <p>Implementations may keep scratch state, so each thread (or simulation
+ * chunk) uses its own instance. Create them with {@link #create(String, long)}.
+ * Some hold threads ({@link MonteCarloPolicy}), so whoever creates a policy
+ * closes it when done.</p>
+ *
+ * @since 1.1
+ */
+public interface MovePolicy extends AutoCloseable {
+
+    /**
+     * Chooses a move that changes the board. The board itself is not modified.
+     *
+     * @param board current position
+     * @return a legal move, or {@code null} if no move changes the board
+     */
+    Direction choose(BoardModel board);
+
+    /**
+     * Releases the policy's threads, if any. Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Creates a policy by name.
+     *
+     * @param name {@code random}, {@code greedy}, {@code corner}, {@code expectimax}
+     *             or {@code montecarlo}
+     * @param seed seed for policies that use randomness
+     * @return a new policy instance
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static MovePolicy create(String name, long seed) {
+        return switch (name) {
+            case "random" -> new RandomPolicy(seed);
+            case "greedy" -> new GreedyPolicy();
+            case "corner" -> new CornerPolicy();
+            case "expectimax" -> new ExpectimaxPolicy();
+            case "montecarlo" -> new MonteCarloPolicy(seed);
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+}
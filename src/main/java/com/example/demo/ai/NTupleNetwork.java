@@ -0,0 +1,269 @@
+package com.example.demo.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * N-tuple value function of the packed 4x4 board, with its weights in a
+ * memory-mapped file.
+ *
+ * <p>Each tuple is a fixed list of cells. The exponents found there, 4 bits
+ * each, index one table of float weights. Every tuple is applied under the 8
+ * symmetries of the square, sharing its table. A board's value is the sum of
+ * the {@code 8 * tupleCount()} weights it selects, and estimates the score
+ * still to come.</p>
+ *
+ * <p>The file holds a header with the tuple shapes, followed by one table per
+ * tuple, in little-endian order. Tables are mapped with
+ * {@link FileChannel#map}. Opening a trained file of hundreds of megabytes is
+ * therefore instant, the weights stay off the Java heap, and the OS pages in
+ * only what is touched. A new file is created sparse. The
+ * {@link #STANDARD} tuples need 256 MiB, the {@link #SMALL} ones about
+ * 1.3 MiB. A mapping is released when the collector reclaims it, not on
+ * {@link #close()}.</p>
+ *
+ * <p>{@link #evaluate(long)} may be called from any number of threads. The
+ * trainer also calls {@link #update(long, double)} from several threads without
+ * locking. Concurrent updates to the same weight can then lose one of the
+ * increments, which stochastic gradient training tolerates.</p>
+ *
+ * @since 1.1
+ */
+public final class NTupleNetwork implements BoardEvaluator, AutoCloseable {
+
+    /** Two straight lines and three squares: 5 tables of 65,536 weights. */
+    public static final int[][] SMALL = {
+        {0, 1, 2, 3}, {4, 5, 6, 7}, {0, 1, 4, 5}, {1, 2, 5, 6}, {5, 6, 9, 10}
+    };
+
+    /** Four 6-tuples: 4 tables of 16,777,216 weights. */
+    public static final int[][] STANDARD = {
+        {0, 1, 2, 3, 4, 5}, {4, 5, 6, 7, 8, 9}, {0, 1, 2, 4, 5, 6}, {4, 5, 6, 8, 9, 10}
+    };
+
+    /** Longest supported tuple; a table must stay under 2 GiB. */
+    public static final int MAX_TUPLE_LENGTH = 7;
+
+    private static final int MAGIC = 0x4E545550; // "NTUP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4096;
+    private static final int SYMMETRIES = 8;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final int[][] tuples;
+    private final FloatBuffer[] tables;
+    /** Bit offset of every tuple cell under every symmetry: {@code [tuple][symmetry][k]}. */
+    private final int[][][] shifts;
+
+    private NTupleNetwork(FileChannel channel, int[][] tuples, boolean writable) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        this.tuples = tuples;
+        this.tables = new FloatBuffer[tuples.length];
+        this.shifts = new int[tuples.length][SYMMETRIES][];
+
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        long offset = HEADER_BYTES;
+        for (int t = 0; t < tuples.length; t++) {
+            long bytes = 4L << (4 * tuples[t].length);
+            tables[t] = channel.map(mode, offset, bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            offset += bytes;
+            for (int s = 0; s < SYMMETRIES; s++) {
+                shifts[t][s] = new int[tuples[t].length];
+                for (int k = 0; k < tuples[t].length; k++) {
+                    shifts[t][s][k] = 4 * symmetric(tuples[t][k], s);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a weight file for training, creating it with zero weights if it
+     * does not exist.
+     *
+     * @param file   weight file
+     * @param tuples tuple shapes, used when the file is created
+     * @return the network
+     * @throws IOException if the file cannot be mapped, or exists with other tuples
+     */
+    public static NTupleNetwork openOrCreate(Path file, int[][] tuples) throws IOException {
+        validate(tuples);
+        boolean exists = Files.exists(file);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (exists && channel.size() > 0) {
+                int[][] stored = readHeader(channel);
+                if (!Arrays.deepEquals(stored, tuples)) {
+                    throw new IOException(file + " holds other tuples: " + Arrays.deepToString(stored));
+                }
+            } else {
+                writeHeader(channel, tuples);
+            }
+            return new NTupleNetwork(channel, tuples, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a trained weight file read-only, e.g. for hints.
+     *
+     * @param file weight file
+     * @return the network
+     * @throws IOException if the file is missing, malformed or cannot be mapped
+     */
+    public static NTupleNetwork open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new NTupleNetwork(channel, readHeader(channel), false);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public double evaluate(long board) {
+        double value = 0;
+        for (int t = 0; t < tables.length; t++) {
+            FloatBuffer table = tables[t];
+            for (int[] cells : shifts[t]) {
+                value += table.get(index(board, cells));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds {@code delta} to every weight the board selects.
+     *
+     * @param board packed board
+     * @param delta change per weight
+     */
+    public void update(long board, double delta) {
+        float d = (float) delta;
+        for (int t = 0; t < tables.length; t++) {
+            FloatBuffer table = tables[t];
+            for (int[] cells : shifts[t]) {
+                int i = index(board, cells);
+                table.put(i, table.get(i) + d);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of weights a board selects, i.e. the number of terms
+     * in {@link #evaluate(long)}.
+     *
+     * @return {@code 8 * tupleCount}
+     */
+    public int featuresPerBoard() {
+        return SYMMETRIES * tuples.length;
+    }
+
+    /**
+     * Returns the tuple shapes.
+     *
+     * @return cell lists, one per table
+     */
+    public int[][] tuples() {
+        int[][] copy = new int[tuples.length][];
+        for (int t = 0; t < tuples.length; t++) copy[t] = tuples[t].clone();
+        return copy;
+    }
+
+    /**
+     * Writes changed weights back to the file. Does nothing on a read-only
+     * network.
+     */
+    public void force() {
+        if (!writable) return;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not flush weights", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int index(long board, int[] cells) {
+        int index = 0;
+        for (int k = 0; k < cells.length; k++) {
+            index |= (int) ((board >>> cells[k]) & 0xF) << (4 * k);
+        }
+        return index;
+    }
+
+    /**
+     * Maps a cell through one of the 8 symmetries of the square: four
+     * rotations, each with or without a mirror.
+     */
+    private static int symmetric(int cell, int symmetry) {
+        int r = cell / 4, c = cell % 4;
+        if (symmetry >= 4) c = 3 - c;
+        for (int i = 0; i < (symmetry & 3); i++) {
+            int t = r;
+            r = c;
+            c = 3 - t;
+        }
+        return r * 4 + c;
+    }
+
+    private static void validate(int[][] tuples) {
+        if (tuples.length == 0) throw new IllegalArgumentException("No tuples");
+        for (int[] tuple : tuples) {
+            if (tuple.length == 0 || tuple.length > MAX_TUPLE_LENGTH) {
+                throw new IllegalArgumentException("Tuple length must be 1 to " + MAX_TUPLE_LENGTH + ": "
+                    + Arrays.toString(tuple));
+            }
+            for (int cell : tuple) {
+                if (cell < 0 || cell >= 16) throw new IllegalArgumentException("Cell out of range: " + cell);
+            }
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int[][] tuples) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(tuples.length);
+        for (int[] tuple : tuples) {
+            header.putInt(tuple.length);
+            for (int cell : tuple) header.putInt(cell);
+        }
+        header.clear();
+        channel.write(header, 0);
+    }
+
+    private static int[][] readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        header.flip();
+        try {
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an n-tuple weight file");
+            }
+            int[][] tuples = new int[header.getInt()][];
+            for (int t = 0; t < tuples.length; t++) {
+                tuples[t] = new int[header.getInt()];
+                for (int k = 0; k < tuples[t].length; k++) tuples[t][k] = header.getInt();
+            }
+            validate(tuples);
+            return tuples;
+        } catch (java.nio.BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Malformed n-tuple weight file", e);
+        }
+    }
+}
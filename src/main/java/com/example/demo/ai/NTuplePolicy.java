@@ -0,0 +1,50 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * Plays the move with the highest reward plus learned value of the resulting
+ * afterstate, the same choice {@link TDTrainer} makes while training.
+ *
+ * <p>Needs the packed 4x4 board; on other grid sizes the policy plays like
+ * {@link GreedyPolicy}. Not created by {@link MovePolicy#create(String, long)}
+ * because it needs a trained network.</p>
+ *
+ * @since 1.1
+ */
+public final class NTuplePolicy implements MovePolicy {
+
+    private final BoardEvaluator evaluator;
+    private final byte[] cells = new byte[BitBoardEngine.SIZE * BitBoardEngine.SIZE];
+    private final GreedyPolicy fallback = new GreedyPolicy();
+
+    /**
+     * Creates a policy.
+     *
+     * @param evaluator afterstate values, usually an {@link NTupleNetwork}
+     */
+    public NTuplePolicy(BoardEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public Direction choose(BoardModel board) {
+        if (board.size() != BitBoardEngine.SIZE) return fallback.choose(board);
+        board.copyTo(cells);
+        long packed = BitBoardEngine.pack(cells);
+        Direction best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Direction dir : Direction.values()) {
+            long after = BitBoardEngine.move(packed, dir);
+            if (after == packed) continue;
+            double value = BitBoardEngine.score(packed, dir) + evaluator.evaluate(after);
+            if (value > bestValue) {
+                bestValue = value;
+                best = dir;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.demo.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+
+/**
+ * {@link Expectimax} split across the threads of a {@link ForkJoinPool}.
+ *
+ * <p>The root moves are searched as separate tasks, and chance nodes with at
+ * least {@link #SPLIT_DEPTH} moves left fork one task per empty cell. Deeper
+ * in the tree the search runs sequentially inside the task; idle workers
+ * steal the remaining subtrees. All workers share one
+ * {@link SharedTranspositionTable}.</p>
+ *
+ * <p>{@link #search(long, int, SearchControl, Consumer)} deepens one move at
+ * a time until the requested depth, the deadline or cancellation. A pass cut
+ * short is thrown away, and its unfinished values never reach the table. The
+ * result comes from the deepest complete pass. The first pass (depth 1)
+ * always runs to the end, so there is always a move if one exists.
+ * Deepening also stops once a pass reached no leaf by depth, only by the
+ * probability cutoff.</p>
+ *
+ * <p>One search runs at a time per instance; the pool threads are daemons.</p>
+ *
+ * @since 1.1
+ */
+public final class ParallelExpectimax implements AutoCloseable {
+
+    /** Chance nodes with at least this many moves left fork their children. */
+    static final int SPLIT_DEPTH = 2;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ForkJoinPool pool;
+    private final SharedTranspositionTable table;
+    private final BoardEvaluator evaluator;
+    private final LongAdder nodes = new LongAdder();
+
+    // set before and read after pool.invoke, which orders them with the workers
+    private SearchControl control;
+    private boolean timed;
+    private boolean depthLimited;
+
+    private volatile boolean stopped;
+
+    /**
+     * Creates a search with a shared table of {@code 2^20} entries.
+     *
+     * @param threads number of worker threads
+     */
+    public ParallelExpectimax(int threads) {
+        this(threads, new SharedTranspositionTable(20));
+    }
+
+    /**
+     * Creates a search using the given table.
+     *
+     * @param threads number of worker threads
+     * @param table   table shared by the workers
+     */
+    public ParallelExpectimax(int threads, SharedTranspositionTable table) {
+        this(threads, table, BoardEvaluator.heuristic());
+    }
+
+    /**
+     * Creates a search with its own leaf evaluation.
+     *
+     * @param threads   number of worker threads
+     * @param table     table shared by the workers; share it only with searches
+     *                  using the same evaluator
+     * @param evaluator leaf evaluation, called from all workers
+     */
+    public ParallelExpectimax(int threads, SharedTranspositionTable table, BoardEvaluator evaluator) {
+        this.pool = new ForkJoinPool(threads);
+        this.table = table;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return parallelism of the pool
+     */
+    public int threads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Searches a position, deepening until {@code maxDepth} or the deadline.
+     *
+     * @param board         packed board
+     * @param maxDepth      deepest search to attempt (at least 1)
+     * @param deadlineNanos {@link System#nanoTime()} value after which passes are abandoned
+     * @return best move of the deepest complete pass, with that depth and the
+     *         nodes visited by all passes
+     */
+    public Expectimax.Result search(long board, int maxDepth, long deadlineNanos) {
+        return search(board, maxDepth, SearchControl.until(deadlineNanos), null);
+    }
+
+    /**
+     * Searches a position, deepening until {@code maxDepth}, the deadline or
+     * cancellation.
+     *
+     * @param board    packed board
+     * @param maxDepth deepest search to attempt (at least 1)
+     * @param control  deadline and cancellation
+     * @param onDepth  called with the result of each complete pass (may be {@code null})
+     * @return best move of the deepest complete pass, with that depth and the
+     *         nodes visited by all passes
+     */
+    public Expectimax.Result search(long board, int maxDepth, SearchControl control,
+                                    Consumer<Expectimax.Result> onDepth) {
+        this.control = control;
+        nodes.reset();
+        Expectimax.Result best = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            if (depth > 1 && control.shouldStop()) break;
+            stopped = false;
+            depthLimited = false;
+            timed = depth > 1;
+
+            Root root = new Root(board, depth);
+            pool.invoke(root);
+            if (stopped) break;
+            best = new Expectimax.Result(root.best, root.bestValue, depth, nodes.sum());
+            if (onDepth != null) onDepth.accept(best);
+            if (root.best == null || !depthLimited) break;
+        }
+        return best;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private double max(long board, int depth, double prob) {
+        nodes.increment();
+        double best = 0; // no move left: the game is lost
+        for (Direction dir : DIRECTIONS) {
+            long next = BitBoardEngine.move(board, dir);
+            if (next != board) best = Math.max(best, chance(next, depth - 1, prob));
+        }
+        return best;
+    }
+
+    private double chance(long board, int depth, double prob) {
+        nodes.increment();
+        if (depth <= 0) {
+            depthLimited = true;
+            return evaluator.evaluate(board);
+        }
+        if (prob < Expectimax.PROBABILITY_CUTOFF) return evaluator.evaluate(board);
+        if (stopped) return 0;
+        if (timed && control.shouldStop()) {
+            stopped = true;
+            return 0;
+        }
+
+        double cached = table.get(board, depth);
+        if (!Double.isNaN(cached)) return cached;
+
+        int empty = Expectimax.emptyCount(board);
+        double childProb = prob / (2 * empty);
+        double sum = 0;
+        if (depth >= SPLIT_DEPTH && empty > 1) {
+            List<Spawn> spawns = new ArrayList<>(empty);
+            for (int shift = 0; shift < 64; shift += 4) {
+                if (((board >>> shift) & 0xF) == 0) spawns.add(new Spawn(board, shift, depth, childProb));
+            }
+            ForkJoinTask.invokeAll(spawns);
+            for (Spawn s : spawns) sum += s.value;
+        } else {
+            for (int shift = 0; shift < 64; shift += 4) {
+                if (((board >>> shift) & 0xF) != 0) continue;
+                sum += max(board | (1L << shift), depth, childProb);
+                sum += max(board | (2L << shift), depth, childProb);
+            }
+        }
+        double value = sum / (2 * empty);
+        if (!stopped) table.put(board, depth, value);
+        return value;
+    }
+
+    /** Both spawns (2 and 4) on one empty cell. */
+    private final class Spawn extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long board;
+        private final int shift;
+        private final int depth;
+        private final double prob;
+        private double value;
+
+        Spawn(long board, int shift, int depth, double prob) {
+            this.board = board;
+            this.shift = shift;
+            this.depth = depth;
+            this.prob = prob;
+        }
+
+        @Override
+        protected void compute() {
+            value = max(board | (1L << shift), depth, prob) + max(board | (2L << shift), depth, prob);
+        }
+    }
+
+    /** One pass over the root moves at a fixed depth. */
+    private final class Root extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long board;
+        private final int depth;
+        private Direction best;
+        private double bestValue = Double.NEGATIVE_INFINITY;
+
+        Root(long board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            List<RootMove> moves = new ArrayList<>(DIRECTIONS.length);
+            for (Direction dir : DIRECTIONS) {
+                long next = BitBoardEngine.move(board, dir);
+                if (next != board) moves.add(new RootMove(dir, next, depth));
+            }
+            ForkJoinTask.invokeAll(moves);
+            for (RootMove m : moves) {
+                if (m.value > bestValue) {
+                    bestValue = m.value;
+                    best = m.dir;
+                }
+            }
+        }
+    }
+
+    /** The chance node reached by one root move. */
+    private final class RootMove extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Direction dir;
+        private final long board;
+        private final int depth;
+        private double value;
+
+        RootMove(Direction dir, long board, int depth) {
+            this.dir = dir;
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            value = chance(board, depth - 1, 1.0);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.ai;
+
+import java.util.SplittableRandom;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+
+/**
+ * Plays a uniformly random legal move; the baseline for other policies.
+ *
+ * @since 1.1
+ */
+public final class RandomPolicy implements MovePolicy {
+
+    private final Direction[] order = Direction.values();
+    private final SplittableRandom random;
+    private final ScratchBoard scratch = new ScratchBoard();
+
+    /**
+     * Creates a random policy.
+     *
+     * @param seed seed of the move choices
+     */
+    public RandomPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Direction choose(BoardModel board) {
+        // shuffle the directions, then the first legal one wins
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Direction t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        for (Direction dir : order) {
+            if (scratch.tryMove(board, dir) >= 0) return dir;
+        }
+        return null;
+    }
+}
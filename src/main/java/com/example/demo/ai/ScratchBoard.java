@@ -0,0 +1,47 @@
+package com.example.demo.ai;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.MoveEngine;
+
+/**
+ * Reusable copy of a board for trying moves without touching the original.
+ *
+ * <p>Moves are applied straight to a byte array by the size's
+ * {@link MoveEngine}. The copy therefore skips the index upkeep that a full
+ * {@link BoardModel} would do.</p>
+ */
+final class ScratchBoard {
+
+    private MoveEngine engine;
+    private byte[] cells;
+
+    /**
+     * Copies {@code board} and applies a move to the copy.
+     *
+     * @param board position to start from; unchanged
+     * @param dir   move to try
+     * @return the score gained, or {@code -1} if the move changes nothing
+     */
+    int tryMove(BoardModel board, Direction dir) {
+        if (engine == null || engine.size() != board.size()) {
+            engine = MoveEngine.forGridSize(board.size());
+            cells = new byte[board.cellCount()];
+        }
+        board.copyTo(cells);
+        return engine.move(cells, dir);
+    }
+
+    /**
+     * Counts the empty cells left by the last {@link #tryMove(BoardModel, Direction)}.
+     *
+     * @return number of empty cells
+     */
+    int emptyCount() {
+        int empty = 0;
+        for (byte e : cells) {
+            if (e == 0) empty++;
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.ai;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline and cancellation flag of one hint search.
+ *
+ * <p>The searcher polls {@link #shouldStop()} as it goes. Any thread may call
+ * {@link #cancel()}, e.g. the FX thread when the player moves and the running
+ * search became pointless. A fresh instance is used per search, so a late
+ * cancel can never stop the next one.</p>
+ *
+ * @since 1.1
+ */
+public final class SearchControl {
+
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    private SearchControl(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates a control whose deadline is {@code millis} from now.
+     *
+     * @param millis time budget in milliseconds
+     * @return a new control
+     */
+    public static SearchControl withBudget(long millis) {
+        return new SearchControl(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Creates a control with an absolute deadline.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} value at which to stop
+     * @return a new control
+     */
+    public static SearchControl until(long deadlineNanos) {
+        return new SearchControl(deadlineNanos);
+    }
+
+    /**
+     * Creates a control that only stops on {@link #cancel()}.
+     *
+     * @return a new control
+     */
+    public static SearchControl unbounded() {
+        return new SearchControl(System.nanoTime() + Long.MAX_VALUE / 2);
+    }
+
+    /**
+     * Asks the search to stop as soon as possible.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether {@link #cancel()} was called.
+     *
+     * @return {@code true} once cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether the search should give up: cancelled or past the deadline.
+     *
+     * @return {@code true} if the search should stop
+     */
+    public boolean shouldStop() {
+        return cancelled || System.nanoTime() - deadline >= 0;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.ai;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table kept off the Java heap and shared by search
+ * threads without locks.
+ *
+ * <p>Entries live in a direct {@link ByteBuffer}, so millions of cached
+ * positions add no objects for the collector to trace. The table is
+ * open-addressed: a packed board hashes to a bucket of two slots. The first
+ * slot is depth-preferred and keeps the deepest search stored there. The
+ * second slot always takes the newest entry that did not beat the first.</p>
+ *
+ * <p>Each slot is two 64-bit words: the data (the value as a float and the
+ * remaining depth) and the board XOR-ed with that data. The words are read
+ * and written one at a time through a {@link VarHandle}, without locks. When
+ * threads race on a slot, a reader may pair the key of one entry with the
+ * data of another. The XOR check then fails and the lookup counts as a miss.
+ * Racing writers can also lose an entry. Neither ever produces a wrong
+ * value.</p>
+ *
+ * <p>Keys are packed 4x4 boards, which are exact. Larger boards can be keyed by
+ * their {@link com.example.demo.model.Zobrist} hash instead; two positions
+ * that share a hash are then treated as one.</p>
+ *
+ * <p>Hits, misses and collisions are counted with {@link LongAdder}s. A
+ * collision is a lookup whose bucket is full of other positions.</p>
+ *
+ * @since 1.1
+ */
+public final class SharedTranspositionTable {
+
+    /** Largest supported {@code log2Capacity}; the buffer is indexed by int. */
+    public static final int MAX_LOG2_CAPACITY = 26;
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /** Bytes per slot: key word and data word. */
+    private static final int SLOT_BYTES = 16;
+
+    private final ByteBuffer buffer;
+    private final int bucketMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Creates a table of {@code 2^log2Capacity} slots
+     * ({@code 16 << log2Capacity} bytes off-heap).
+     *
+     * @param log2Capacity base-2 logarithm of the number of slots (1 to {@value #MAX_LOG2_CAPACITY})
+     * @throws IllegalArgumentException if the capacity is out of range
+     */
+    public SharedTranspositionTable(int log2Capacity) {
+        if (log2Capacity < 1 || log2Capacity > MAX_LOG2_CAPACITY) {
+            throw new IllegalArgumentException("log2Capacity out of range: " + log2Capacity);
+        }
+        this.buffer = ByteBuffer.allocateDirect(SLOT_BYTES << log2Capacity).order(ByteOrder.nativeOrder());
+        this.bucketMask = (1 << (log2Capacity - 1)) - 1;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param board packed board
+     * @param depth remaining depth the caller needs
+     * @return the stored value, or {@code NaN} if absent or searched too shallow
+     */
+    public double get(long board, int depth) {
+        int bucket = bucket(board);
+        boolean occupied = false;
+        for (int slot = bucket; slot < bucket + 2 * SLOT_BYTES; slot += SLOT_BYTES) {
+            long data = (long) LONGS.getOpaque(buffer, slot + 8);
+            long key = (long) LONGS.getOpaque(buffer, slot);
+            if ((key ^ data) == board && data != 0) {
+                // depth is stored plus one, so an empty slot never matches
+                if ((int) (data & 0xFF) > depth) {
+                    hits.increment();
+                    return Float.intBitsToFloat((int) (data >>> 32));
+                }
+                misses.increment();
+                return Double.NaN;
+            }
+            occupied |= data != 0;
+        }
+        if (occupied) collisions.increment();
+        misses.increment();
+        return Double.NaN;
+    }
+
+    /**
+     * Stores a searched position. It goes to the depth-preferred slot if that
+     * slot is empty, holds the same board, or was searched no deeper;
+     * otherwise it replaces the second slot.
+     *
+     * @param board packed board
+     * @param depth remaining depth it was searched to
+     * @param value its value
+     */
+    public void put(long board, int depth, double value) {
+        long data = ((long) Float.floatToRawIntBits((float) value) << 32) | (depth + 1);
+        int slot = bucket(board);
+        long oldData = (long) LONGS.getOpaque(buffer, slot + 8);
+        long oldKey = (long) LONGS.getOpaque(buffer, slot);
+        if ((oldKey ^ oldData) != board && (int) (oldData & 0xFF) > depth + 1) {
+            slot += SLOT_BYTES;
+        }
+        LONGS.setOpaque(buffer, slot, board ^ data);
+        LONGS.setOpaque(buffer, slot + 8, data);
+    }
+
+    /**
+     * Empties the table. Not safe while searches are running.
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.capacity(); i += 8) {
+            LONGS.set(buffer, i, 0L);
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a usable entry.
+     *
+     * @return hit count
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found nothing usable.
+     *
+     * @return miss count, collisions included
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of lookups that missed because both slots of the
+     * bucket held other positions.
+     *
+     * @return collision count
+     */
+    public long collisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups that found a usable entry.
+     *
+     * @return hit rate in {@code [0, 1]}
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Returns the byte offset of a board's bucket.
+     *
+     * @param board packed board
+     * @return offset of the bucket's first slot
+     */
+    private int bucket(long board) {
+        long h = board * 0x9E3779B97F4A7C15L;
+        return ((int) (h ^ (h >>> 32)) & bucketMask) * 2 * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Plays many headless games in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Games are grouped into fixed-size chunks. Before anything is forked, each
+ * chunk gets its own {@link SpawnRng} split from the root generator, in chunk
+ * order. A seeded run therefore gives the same results whatever the thread
+ * count. Each chunk reuses one board and one policy instance for all of its
+ * games.</p>
+ *
+ * <p>Good policies on the 8x8 and 10x10 boards can play for millions of moves,
+ * so games can be cut off after a move limit. Cut-off games are counted in
+ * {@link SimulationStats#truncated()}.</p>
+ *
+ * @since 1.1
+ */
+public final class SimulationRunner implements AutoCloseable {
+
+    /** Games per work unit. */
+    static final int CHUNK = 256;
+
+    private final ForkJoinPool pool;
+    private final int maxMoves;
+
+    /**
+     * Creates a runner.
+     *
+     * @param threads  number of worker threads
+     * @param maxMoves moves after which a game is cut off, or 0 for no limit
+     */
+    public SimulationRunner(int threads, int maxMoves) {
+        this.pool = new ForkJoinPool(threads);
+        this.maxMoves = maxMoves > 0 ? maxMoves : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return parallelism of the pool
+     */
+    public int threads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Plays {@code games} games and collects their statistics.
+     *
+     * @param gridSize board side length
+     * @param policy   policy name, see {@link MovePolicy#create(String, long)}
+     * @param games    number of games
+     * @param root     generator the per-chunk generators are split from
+     * @return merged statistics, including the wall-clock time
+     */
+    public SimulationStats run(int gridSize, String policy, long games, SpawnRng root) {
+        MovePolicy.create(policy, 0).close(); // fail fast on an unknown name
+        List<Callable<SimulationStats>> chunks = new ArrayList<>();
+        for (long start = 0; start < games; start += CHUNK) {
+            int count = (int) Math.min(CHUNK, games - start);
+            SpawnRng rng = root.split();
+            chunks.add(() -> playChunk(gridSize, MovePolicy.create(policy, rng.nextDecision()), count, rng, maxMoves));
+        }
+
+        return SimulationStats.runAll(pool, chunks, "Simulation");
+    }
+
+    /**
+     * Plays one chunk of games with a single board and policy.
+     *
+     * @param gridSize board side length
+     * @param policy   move chooser for the whole chunk; closed when done
+     * @param count    number of games
+     * @param chunkRng generator the per-game generators are split from
+     * @param maxMoves move limit per game
+     * @return statistics of the chunk
+     */
+    private static SimulationStats playChunk(int gridSize, MovePolicy policy, int count,
+                                             SpawnRng chunkRng, int maxMoves) {
+        SimulationStats stats = new SimulationStats();
+        BoardModel board = new BoardModel(gridSize);
+        try (policy) {
+            for (int g = 0; g < count; g++) {
+                playGame(board, policy, chunkRng.split(), maxMoves, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Plays one game from an empty board until no move is left or the move
+     * limit is reached.
+     *
+     * @param board    board to play on; cleared first
+     * @param policy   move chooser
+     * @param rng      spawn generator of this game
+     * @param maxMoves move limit
+     * @param stats    receives the result
+     */
+    static void playGame(BoardModel board, MovePolicy policy, SpawnRng rng, int maxMoves,
+                         SimulationStats stats) {
+        board.clear();
+        board.spawn(rng);
+        board.spawn(rng);
+        long score = 0;
+        int moves = 0;
+        while (moves < maxMoves && board.canMove()) {
+            Direction dir = policy.choose(board);
+            if (dir == null) break;
+            int gained = board.move(dir);
+            if (gained < 0) break;
+            score += gained;
+            moves++;
+            board.spawn(rng);
+        }
+        stats.record(score, moves, board.maxExponent(), moves == maxMoves);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
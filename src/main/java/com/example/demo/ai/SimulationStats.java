@@ -0,0 +1,166 @@
+package com.example.demo.ai;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Results of a batch of simulated games: counts, max-tile distribution and
+ * every final score (for percentiles).
+ *
+ * <p>Each worker fills its own instance; the runner then merges them with
+ * {@link #merge(SimulationStats)}. Instances are not thread-safe.</p>
+ *
+ * @since 1.1
+ */
+public final class SimulationStats {
+
+    private int games;
+    private long moves;
+    private long truncated;
+    private long[] scores = new long[1024];
+    private final long[] maxTileCounts = new long[32];
+    private long elapsedNanos;
+    private boolean sorted = true;
+
+    /**
+     * Runs work units on a pool and merges their results. The elapsed time
+     * covers the work units only: the clock stops before merging.
+     *
+     * @param pool   worker threads
+     * @param chunks work units, each returning its own statistics
+     * @param what   name of the run for error messages, e.g. {@code "Simulation"}
+     * @return merged statistics, including the wall-clock time
+     * @throws IllegalStateException if the run is interrupted or a work unit fails
+     */
+    static SimulationStats runAll(ExecutorService pool, List<Callable<SimulationStats>> chunks, String what) {
+        long t0 = System.nanoTime();
+        SimulationStats total = new SimulationStats();
+        try {
+            List<Future<SimulationStats>> done = pool.invokeAll(chunks);
+            total.elapsedNanos = System.nanoTime() - t0;
+            for (Future<SimulationStats> f : done) {
+                total.merge(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(what + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(what + " failed", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Records one finished game.
+     *
+     * @param score       final score
+     * @param gameMoves   number of moves played
+     * @param maxExponent exponent of the largest tile
+     * @param cutOff      whether the game hit the move limit instead of ending
+     */
+    public void record(long score, int gameMoves, int maxExponent, boolean cutOff) {
+        if (cutOff) truncated++;
+        ensureCapacity(games + 1);
+        scores[games++] = score;
+        moves += gameMoves;
+        maxTileCounts[maxExponent]++;
+        sorted = false;
+    }
+
+    /**
+     * Adds another worker's results to this one.
+     *
+     * @param other results to add
+     */
+    public void merge(SimulationStats other) {
+        int total = Math.addExact(games, other.games);
+        ensureCapacity(total);
+        System.arraycopy(other.scores, 0, scores, games, other.games);
+        games = total;
+        moves += other.moves;
+        truncated += other.truncated;
+        for (int e = 0; e < maxTileCounts.length; e++) {
+            maxTileCounts[e] += other.maxTileCounts[e];
+        }
+        sorted = false;
+    }
+
+    /**
+     * Grows the score array to hold at least {@code needed} scores, at least
+     * doubling it so that repeated merges stay linear overall.
+     *
+     * @param needed required capacity
+     */
+    private void ensureCapacity(int needed) {
+        if (needed > scores.length) {
+            int doubled = (int) Math.min(Integer.MAX_VALUE - 8, 2L * scores.length);
+            scores = Arrays.copyOf(scores, Math.max(needed, doubled));
+        }
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return game count
+     */
+    public long games() {
+        return games;
+    }
+
+    /**
+     * Returns the number of moves played over all games.
+     *
+     * @return move count
+     */
+    public long moves() {
+        return moves;
+    }
+
+    /**
+     * Returns how many games were cut off by the move limit.
+     *
+     * @return truncated game count
+     */
+    public long truncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns how many games ended with a given largest tile.
+     *
+     * @param exponent tile exponent
+     * @return number of games
+     */
+    public long maxTileCount(int exponent) {
+        return maxTileCounts[exponent];
+    }
+
+    /**
+     * Returns a score percentile (nearest rank).
+     *
+     * @param p percentile in {@code [0, 100]}
+     * @return the score at that percentile, or 0 if no game was recorded
+     */
+    public long scorePercentile(double p) {
+        if (games == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(scores, 0, games);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * games);
+        return scores[Math.max(0, Math.min(games - 1, rank - 1))];
+    }
+
+    /**
+     * Returns the wall-clock time of the run.
+     *
+     * @return elapsed nanoseconds
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+}
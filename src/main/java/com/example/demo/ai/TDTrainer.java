@@ -0,0 +1,157 @@
+package com.example.demo.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Trains an {@link NTupleNetwork} by self-play with afterstate TD(0).
+ *
+ * <p>Each game is played greedily on the network's own estimate: the move with
+ * the highest reward plus value of the position after the slide, before the
+ * spawn (the afterstate). The value of the previous afterstate is then moved
+ * towards the next reward plus the next afterstate's value; the last one
+ * towards 0. Games run on the packed 4x4 board, in chunks on a
+ * {@link ForkJoinPool}, with one {@link SpawnRng} split per chunk as in
+ * {@link SimulationRunner}. All threads update the shared weights without
+ * locking (see {@link NTupleNetwork}), so only the spawns, not the weights,
+ * are reproducible across thread counts.</p>
+ *
+ * @since 1.1
+ */
+public final class TDTrainer implements AutoCloseable {
+
+    /** Default learning rate, spread over the weights of one board. */
+    public static final double DEFAULT_ALPHA = 0.1;
+
+    /** Games per work unit. */
+    static final int CHUNK = 64;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final NTupleNetwork network;
+    private final ForkJoinPool pool;
+    private final double step;
+
+    /**
+     * Creates a trainer.
+     *
+     * @param network weights to train
+     * @param threads number of worker threads
+     * @param alpha   learning rate
+     */
+    public TDTrainer(NTupleNetwork network, int threads, double alpha) {
+        this.network = network;
+        this.pool = new ForkJoinPool(threads);
+        this.step = alpha / network.featuresPerBoard();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return parallelism of the pool
+     */
+    public int threads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Plays and learns from {@code games} games.
+     *
+     * @param games number of games
+     * @param root  generator the per-chunk generators are split from
+     * @return statistics of the games played, including the wall-clock time
+     */
+    public SimulationStats train(long games, SpawnRng root) {
+        List<Callable<SimulationStats>> chunks = new ArrayList<>();
+        for (long start = 0; start < games; start += CHUNK) {
+            int count = (int) Math.min(CHUNK, games - start);
+            SpawnRng rng = root.split();
+            chunks.add(() -> {
+                SimulationStats stats = new SimulationStats();
+                for (int g = 0; g < count; g++) {
+                    playGame(rng.split(), stats);
+                }
+                return stats;
+            });
+        }
+
+        return SimulationStats.runAll(pool, chunks, "Training");
+    }
+
+    /**
+     * Plays one game from two spawns on an empty board, updating the network
+     * after every move.
+     *
+     * @param rng   spawn generator of this game
+     * @param stats receives the result
+     */
+    void playGame(SpawnRng rng, SimulationStats stats) {
+        long board = spawn(spawn(0L, rng.nextDecision()), rng.nextDecision());
+        long previous = 0L;
+        boolean started = false;
+        long score = 0;
+        int moves = 0;
+        while (true) {
+            long after = 0L;
+            int reward = 0;
+            double best = Double.NEGATIVE_INFINITY;
+            for (Direction dir : DIRECTIONS) {
+                long next = BitBoardEngine.move(board, dir);
+                if (next == board) continue;
+                int r = BitBoardEngine.score(board, dir);
+                double value = r + network.evaluate(next);
+                if (value > best) {
+                    best = value;
+                    after = next;
+                    reward = r;
+                }
+            }
+            if (best == Double.NEGATIVE_INFINITY) {
+                if (started) network.update(previous, -step * network.evaluate(previous));
+                break;
+            }
+            if (started) network.update(previous, step * (best - network.evaluate(previous)));
+            previous = after;
+            started = true;
+            score += reward;
+            moves++;
+            board = spawn(after, rng.nextDecision());
+        }
+        stats.record(score, moves, maxExponent(board), false);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Places a tile in the empty cell a decision selects.
+     *
+     * @param board    packed board with at least one empty cell
+     * @param decision a value from {@link SpawnRng#nextDecision()}
+     * @return the board with the new tile
+     */
+    static long spawn(long board, long decision) {
+        int k = SpawnRng.slot(decision, Expectimax.emptyCount(board));
+        for (int shift = 0; ; shift += 4) {
+            if (((board >>> shift) & 0xF) == 0 && k-- == 0) {
+                return board | ((long) SpawnRng.exponent(decision) << shift);
+            }
+        }
+    }
+
+    private static int maxExponent(long board) {
+        int max = 0;
+        for (int shift = 0; shift < 64; shift += 4) {
+            max = Math.max(max, (int) ((board >>> shift) & 0xF));
+        }
+        return max;
+    }
+}
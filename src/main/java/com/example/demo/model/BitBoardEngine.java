@@ -0,0 +1,339 @@
+package com.example.demo.model;
+
+/**
+ * Headless move engine for the 4x4 level.
+ *
+ * <p>The whole board is packed into a single {@code long}: every cell is a 4-bit
+ * exponent (0 = empty, 1 = 2, 2 = 4, ... 15 = 32768). Row {@code r} occupies bits
+ * {@code 16*r .. 16*r+15} and column {@code c} is the nibble at {@code 4*c} inside
+ * that row, so column 0 is the least significant nibble.</p>
+ *
+ * <p>Left and right moves are a lookup per row in precomputed 65,536-entry tables.
+ * Up and down moves transpose the board, reuse the row tables and transpose back.
+ * No objects are allocated on the move path unless {@link #apply(long, Direction)}
+ * is used to get a {@link Result}.</p>
+ *
+ * <p>Tiles at exponent 15 never merge, since the sum could not be represented in a
+ * nibble. That is far beyond the 2048 target of the 4x4 level.</p>
+ *
+ * @since 1.1
+ */
+public final class BitBoardEngine {
+
+    /** Side length of the board this engine handles. */
+    public static final int SIZE = 4;
+
+    /** Largest exponent a nibble can hold. */
+    public static final int MAX_EXPONENT = 15;
+
+    /** Row after sliding left, indexed by the original 16-bit row. */
+    private static final char[] ROW_LEFT = new char[1 << 16];
+
+    /** Row after sliding right, indexed by the original 16-bit row. */
+    private static final char[] ROW_RIGHT = new char[1 << 16];
+
+    /** Score gained by merging a row (same in both directions). */
+    private static final int[] ROW_SCORE = new int[1 << 16];
+
+    /**
+     * Where each tile of a row ends up when sliding left: nibble {@code c} holds the
+     * destination column in bits 0-1 and, in bit 2, whether the tile was consumed by
+     * a merge. Used to emit {@link MoveDelta} events without re-running the slide.
+     */
+    private static final char[] ROW_LEFT_DEST = new char[1 << 16];
+
+    /** Same as {@link #ROW_LEFT_DEST} for sliding right. */
+    private static final char[] ROW_RIGHT_DEST = new char[1 << 16];
+
+    static {
+        int[] line = new int[SIZE];
+        int[] dest = new int[SIZE];
+        for (int row = 0; row < (1 << 16); row++) {
+            for (int i = 0; i < SIZE; i++) {
+                line[i] = (row >>> (4 * i)) & 0xF;
+            }
+            int score = slideTowardsZero(line, dest);
+            int left = 0;
+            int leftDest = 0;
+            int rightDest = 0;
+            for (int i = 0; i < SIZE; i++) {
+                left |= line[i] << (4 * i);
+                leftDest |= dest[i] << (4 * i);
+                // mirrored: source column 3-i lands on column 3-d
+                int mirrored = (SIZE - 1 - (dest[i] & 0x3)) | (dest[i] & 0x4);
+                rightDest |= mirrored << (4 * (SIZE - 1 - i));
+            }
+            ROW_LEFT[row] = (char) left;
+            ROW_SCORE[row] = score;
+            ROW_LEFT_DEST[row] = (char) leftDest;
+            ROW_RIGHT[reverseRow(row)] = (char) reverseRow(left);
+            ROW_RIGHT_DEST[reverseRow(row)] = (char) rightDest;
+        }
+    }
+
+    private BitBoardEngine() {
+    }
+
+    /**
+     * Outcome of a single move.
+     *
+     * @param board      the packed board after the move (before any spawn)
+     * @param scoreDelta the sum of all tiles created by merges
+     * @param changed    whether any tile moved or merged
+     */
+    public record Result(long board, int scoreDelta, boolean changed) {
+    }
+
+    /**
+     * Applies a move and returns the new board, score gained and whether anything changed.
+     *
+     * @param board packed board
+     * @param dir   move direction
+     * @return the move outcome
+     */
+    public static Result apply(long board, Direction dir) {
+        long next = move(board, dir);
+        return new Result(next, next == board ? 0 : score(board, dir), next != board);
+    }
+
+    /**
+     * Applies a move to a packed board.
+     *
+     * @param board packed board
+     * @param dir   move direction
+     * @return the packed board after the move; equal to {@code board} when nothing moved
+     */
+    public static long move(long board, Direction dir) {
+        return switch (dir) {
+            case LEFT -> moveRows(board, ROW_LEFT);
+            case RIGHT -> moveRows(board, ROW_RIGHT);
+            case UP -> transpose(moveRows(transpose(board), ROW_LEFT));
+            case DOWN -> transpose(moveRows(transpose(board), ROW_RIGHT));
+        };
+    }
+
+    /**
+     * Returns the score a move would gain without computing the resulting board.
+     *
+     * @param board packed board
+     * @param dir   move direction
+     * @return the sum of merged tile values
+     */
+    public static int score(long board, Direction dir) {
+        long rows = (dir == Direction.UP || dir == Direction.DOWN) ? transpose(board) : board;
+        return ROW_SCORE[(int) (rows & 0xFFFF)]
+             + ROW_SCORE[(int) ((rows >>> 16) & 0xFFFF)]
+             + ROW_SCORE[(int) ((rows >>> 32) & 0xFFFF)]
+             + ROW_SCORE[(int) ((rows >>> 48) & 0xFFFF)];
+    }
+
+    /**
+     * Reads the exponent stored at a cell.
+     *
+     * @param board packed board
+     * @param row   row index (0-3)
+     * @param col   column index (0-3)
+     * @return exponent at that cell, 0 if empty
+     */
+    public static int exponentAt(long board, int row, int col) {
+        return (int) ((board >>> (16 * row + 4 * col)) & 0xF);
+    }
+
+    /**
+     * Returns a copy of the board with one cell replaced.
+     *
+     * @param board    packed board
+     * @param row      row index (0-3)
+     * @param col      column index (0-3)
+     * @param exponent new exponent (0-15)
+     * @return the updated packed board
+     */
+    public static long withExponent(long board, int row, int col, int exponent) {
+        int shift = 16 * row + 4 * col;
+        return (board & ~(0xFL << shift)) | ((long) (exponent & 0xF) << shift);
+    }
+
+    /**
+     * Transposes the 4x4 nibble matrix (rows become columns).
+     *
+     * @param x packed board
+     * @return the transposed board
+     */
+    public static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    /**
+     * Converts a tile value (2, 4, 8, ...) to its exponent, 0 for an empty cell.
+     *
+     * @param value tile value, a power of two or 0
+     * @return the exponent
+     */
+    public static int toExponent(int value) {
+        return value <= 0 ? 0 : Integer.numberOfTrailingZeros(value);
+    }
+
+    /**
+     * Converts an exponent back to a tile value.
+     *
+     * @param exponent exponent, 0 for empty
+     * @return the tile value, 0 for empty
+     */
+    public static int toValue(int exponent) {
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+
+    /**
+     * Packs a flat 16-cell exponent array (see {@link MoveEngine}) into a board.
+     *
+     * @param cells exponents in row-major order
+     * @return packed board
+     */
+    public static long pack(byte[] cells) {
+        long board = 0;
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            board |= (long) (cells[i] & 0xF) << (4 * i);
+        }
+        return board;
+    }
+
+    /**
+     * Unpacks a board into a flat 16-cell exponent array.
+     *
+     * @param board packed board
+     * @param cells destination, row-major
+     */
+    public static void unpack(long board, byte[] cells) {
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            cells[i] = (byte) ((board >>> (4 * i)) & 0xF);
+        }
+    }
+
+    /**
+     * Exposes this engine through the array-based {@link MoveEngine} interface,
+     * so the 4x4 level can share code paths with the larger grids.
+     *
+     * @return the shared 4x4 engine
+     */
+    public static MoveEngine asMoveEngine() {
+        return ArrayAdapter.INSTANCE;
+    }
+
+    /** Stateless {@link MoveEngine} view of the packed engine. */
+    private static final class ArrayAdapter implements MoveEngine {
+        private static final ArrayAdapter INSTANCE = new ArrayAdapter();
+
+        @Override
+        public int size() {
+            return SIZE;
+        }
+
+        @Override
+        public int move(byte[] cells, Direction dir) {
+            long board = pack(cells);
+            long next = BitBoardEngine.move(board, dir);
+            if (next == board) return -1;
+            unpack(next, cells);
+            return score(board, dir);
+        }
+
+        @Override
+        public int move(byte[] cells, Direction dir, MoveDelta delta) {
+            long board = pack(cells);
+            long next = BitBoardEngine.move(board, dir);
+            if (next == board) return -1;
+            unpack(next, cells);
+            recordDelta(board, dir, delta);
+            return score(board, dir);
+        }
+    }
+
+    /**
+     * Emits the slide and merge events of a move using the destination tables.
+     * Lines are walked in the move direction so that the events replay in order.
+     *
+     * @param board packed board before the move
+     * @param dir   move direction
+     * @param delta receives the events
+     */
+    private static void recordDelta(long board, Direction dir, MoveDelta delta) {
+        boolean vertical = dir == Direction.UP || dir == Direction.DOWN;
+        boolean towardsZero = dir == Direction.LEFT || dir == Direction.UP;
+        long rows = vertical ? transpose(board) : board;
+        char[] rowTable = towardsZero ? ROW_LEFT : ROW_RIGHT;
+        char[] destTable = towardsZero ? ROW_LEFT_DEST : ROW_RIGHT_DEST;
+
+        for (int r = 0; r < SIZE; r++) {
+            int row = (int) ((rows >>> (16 * r)) & 0xFFFF);
+            int result = rowTable[row];
+            int dest = destTable[row];
+            for (int k = 0; k < SIZE; k++) {
+                int c = towardsZero ? k : SIZE - 1 - k;
+                int e = (row >>> (4 * c)) & 0xF;
+                if (e == 0) continue;
+                int d = (dest >>> (4 * c)) & 0x3;
+                boolean merged = ((dest >>> (4 * c)) & 0x4) != 0;
+                int from = vertical ? c * SIZE + r : r * SIZE + c;
+                int to = vertical ? d * SIZE + r : r * SIZE + d;
+                if (merged) {
+                    delta.merge(from, to, (result >>> (4 * d)) & 0xF);
+                } else if (d != c) {
+                    delta.slide(from, to, e);
+                }
+            }
+        }
+    }
+
+    // ----------------- table helpers -----------------
+
+    private static long moveRows(long board, char[] table) {
+        return (long) table[(int) (board & 0xFFFF)]
+             | (long) table[(int) ((board >>> 16) & 0xFFFF)] << 16
+             | (long) table[(int) ((board >>> 32) & 0xFFFF)] << 32
+             | (long) table[(int) ((board >>> 48) & 0xFFFF)] << 48;
+    }
+
+    private static int reverseRow(int row) {
+        return ((row & 0xF) << 12) | ((row & 0xF0) << 4) | ((row >>> 4) & 0xF0) | ((row >>> 12) & 0xF);
+    }
+
+    /**
+     * Slides and merges a line of exponents towards index 0, in place.
+     *
+     * @param line exponents, rewritten with the result
+     * @param dest receives, per source index, the destination index plus 4 if the
+     *             tile was consumed by a merge (0 for empty sources)
+     * @return score gained by merges
+     */
+    private static int slideTowardsZero(int[] line, int[] dest) {
+        int score = 0;
+        int out = 0;
+        int pending = 0;
+        for (int i = 0; i < line.length; i++) {
+            int v = line[i];
+            dest[i] = 0;
+            if (v == 0) continue;
+            if (pending == v && v < MAX_EXPONENT) {
+                line[out] = v + 1;
+                dest[i] = out | 0x4;
+                out++;
+                score += 1 << (v + 1);
+                pending = 0;
+            } else {
+                if (pending != 0) line[out++] = pending;
+                pending = v;
+                dest[i] = out;
+            }
+        }
+        if (pending != 0) line[out++] = pending;
+        while (out < line.length) line[out++] = 0;
+        return score;
+    }
+}
@@ -0,0 +1,541 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+
+/**
+ * Primitive game board: the source of truth for tile values.
+ *
+ * <p>Tiles are stored as exponents in a flat {@code byte[]} (0 = empty, 1 = 2,
+ * 2 = 4, ...), indexed {@code row * size + col}. Moves are delegated to the
+ * {@link MoveEngine} picked for the grid size. The class has no JavaFX
+ * dependency, so game logic can run headless; {@link Cell} objects only mirror
+ * what is stored here.</p>
+ *
+ * <p>Every cell write goes through one update routine that also maintains an
+ * index: a bitset plus a dense list of empty cells (for O(1) random selection),
+ * a histogram of exponents (for the max tile) and the number of adjacent equal
+ * pairs. Win, spawn and game-over checks therefore never scan the grid.</p>
+ *
+ * <p>The routine also keeps the board's {@link Zobrist} hash current, two XORs
+ * per written cell, see {@link #hash()}.</p>
+ *
+ * <p>The same routine marks the cell in a dirty bitset. Renderers repaint only
+ * the dirty cells and the caller clears the marks once per frame, see
+ * {@link #nextDirty(int)} and {@link #clearDirty()}.</p>
+ *
+ * @since 1.1
+ */
+public class BoardModel {
+
+    /** Board side length. */
+    private final int size;
+
+    /** Tile exponents, row-major. */
+    private final byte[] cells;
+
+    /** Engine used to apply moves for this size. */
+    private final MoveEngine engine;
+
+    /** Scratch copy the engine moves on, diffed back into {@link #cells}. */
+    private final byte[] scratch;
+
+    /** Bit {@code i} is set when cell {@code i} is empty. */
+    private final long[] emptyBits;
+
+    /** Dense list of empty cell indices; the first {@link #emptyCount} are valid. */
+    private final int[] emptyList;
+
+    /** Position of each empty cell inside {@link #emptyList}, -1 when occupied. */
+    private final int[] emptyPos;
+
+    /** Number of empty cells. */
+    private int emptyCount;
+
+    /** How many tiles of each exponent are on the board (index 0 unused). */
+    private final int[] exponentCounts = new int[32];
+
+    /** Largest exponent present. */
+    private int maxExponent;
+
+    /** Number of horizontally or vertically adjacent pairs of equal tiles. */
+    private int mergeablePairs;
+
+    /** {@link Zobrist} hash of {@link #cells}. */
+    private long hash;
+
+    /** Bit {@code i} is set when cell {@code i} was written since the last {@link #clearDirty()}. */
+    private final long[] dirtyBits;
+
+    /** Number of set bits in {@link #dirtyBits}. */
+    private int dirtyCount;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param size board side length (e.g., 4, 8, 10)
+     */
+    public BoardModel(int size) {
+        this.size = size;
+        this.cells = new byte[size * size];
+        this.engine = MoveEngine.forGridSize(size);
+        this.scratch = new byte[size * size];
+        this.emptyBits = new long[(size * size + 63) >>> 6];
+        this.dirtyBits = new long[emptyBits.length];
+        this.emptyList = new int[size * size];
+        this.emptyPos = new int[size * size];
+        rebuildIndex();
+    }
+
+    /**
+     * Returns the board side length.
+     *
+     * @return grid size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells on the board.
+     *
+     * @return {@code size * size}
+     */
+    public int cellCount() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the exponent stored at a flat index.
+     *
+     * @param index {@code row * size + col}
+     * @return exponent, 0 if empty
+     */
+    public int exponentAt(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns the exponent stored at a cell.
+     *
+     * @param row row index
+     * @param col column index
+     * @return exponent, 0 if empty
+     */
+    public int exponentAt(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    /**
+     * Returns the tile value at a cell.
+     *
+     * @param row row index
+     * @param col column index
+     * @return tile value (2, 4, 8, ...), 0 if empty
+     */
+    public int valueAt(int row, int col) {
+        return BitBoardEngine.toValue(cells[row * size + col]);
+    }
+
+    /**
+     * Returns the tile value at a flat index.
+     *
+     * @param index {@code row * size + col}
+     * @return tile value (2, 4, 8, ...), 0 if empty
+     */
+    public int valueAt(int index) {
+        return BitBoardEngine.toValue(cells[index]);
+    }
+
+    /**
+     * Places a tile, or clears a cell when {@code exponent} is 0.
+     *
+     * @param index    {@code row * size + col}
+     * @param exponent tile exponent
+     */
+    public void setExponent(int index, int exponent) {
+        if (cells[index] != exponent) update(index, exponent);
+    }
+
+    /**
+     * Empties every cell.
+     */
+    public void clear() {
+        Arrays.fill(cells, (byte) 0);
+        rebuildIndex();
+    }
+
+    /**
+     * Applies a move. The engine works on a scratch copy and only the cells that
+     * changed are written back, keeping the index current.
+     *
+     * @param dir move direction
+     * @return the score gained by merges, or {@code -1} if nothing moved
+     */
+    public int move(Direction dir) {
+        return move(dir, null);
+    }
+
+    /**
+     * Applies a move and records the tile events for the renderer.
+     *
+     * @param dir   move direction
+     * @param delta cleared, then filled with slide and merge events (may be {@code null});
+     *              stays empty when nothing moved
+     * @return the score gained by merges, or {@code -1} if nothing moved
+     */
+    public int move(Direction dir, MoveDelta delta) {
+        if (delta != null) delta.clear();
+        System.arraycopy(cells, 0, scratch, 0, cells.length);
+        int gained = (delta == null) ? engine.move(scratch, dir) : engine.move(scratch, dir, delta);
+        if (gained < 0) return gained;
+        for (int i = 0; i < cells.length; i++) {
+            if (scratch[i] != cells[i]) update(i, scratch[i]);
+        }
+        return gained;
+    }
+
+    /**
+     * Spawns a 2 or a 4 on an empty cell chosen by the session's {@link SpawnRng}.
+     * Consumes one decision; does nothing on a full board.
+     *
+     * @param rng spawn generator
+     * @return flat index of the new tile, or {@code -1} if the board is full
+     */
+    public int spawn(SpawnRng rng) {
+        return spawn(rng, null);
+    }
+
+    /**
+     * Spawns a tile like {@link #spawn(SpawnRng)} and appends a spawn event.
+     *
+     * @param rng   spawn generator
+     * @param delta receives the spawn event (may be {@code null}); not cleared
+     * @return flat index of the new tile, or {@code -1} if the board is full
+     */
+    public int spawn(SpawnRng rng, MoveDelta delta) {
+        if (emptyCount == 0) return -1;
+        return spawn(rng.nextDecision(), delta);
+    }
+
+    /**
+     * Spawns a tile for a decision drawn beforehand, e.g. one seen with
+     * {@link SpawnRng#peekDecision()} to predict the next position.
+     *
+     * @param decision spawn decision
+     * @param delta    receives the spawn event (may be {@code null}); not cleared
+     * @return flat index of the new tile, or {@code -1} if the board is full
+     */
+    public int spawn(long decision, MoveDelta delta) {
+        if (emptyCount == 0) return -1;
+        int index = emptyList[SpawnRng.slot(decision, emptyCount)];
+        int exponent = SpawnRng.exponent(decision);
+        update(index, exponent);
+        if (delta != null) delta.spawn(index, exponent);
+        return index;
+    }
+
+    /**
+     * Returns the number of empty cells.
+     *
+     * @return number of empty cells
+     */
+    public int emptyCount() {
+        return emptyCount;
+    }
+
+    /**
+     * Checks whether a cell is empty.
+     *
+     * @param index {@code row * size + col}
+     * @return {@code true} if the cell holds no tile
+     */
+    public boolean isEmpty(int index) {
+        return (emptyBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the {@code k}-th entry of the empty-cell list. The order is
+     * unspecified but deterministic, so {@code emptyCellAt(random.nextInt(emptyCount()))}
+     * picks a uniformly random empty cell in O(1). Seeded replays depend on
+     * this order; changing it requires a new {@link ReplayRecorder} version.
+     *
+     * @param k position in the list, {@code 0 <= k < emptyCount()}
+     * @return flat index, or {@code -1} if {@code k} is out of range
+     */
+    public int emptyCellAt(int k) {
+        return k >= 0 && k < emptyCount ? emptyList[k] : -1;
+    }
+
+    /**
+     * Returns how many empty cells come before a cell in row-major order.
+     * Unlike the empty-cell list, this rank does not depend on the history of
+     * the board, so it can be stored and looked up again with
+     * {@link #emptyCellByRank(int)}.
+     *
+     * @param index {@code row * size + col}
+     * @return number of empty cells with a smaller index
+     */
+    public int emptyRank(int index) {
+        int word = index >>> 6;
+        int rank = Long.bitCount(emptyBits[word] & ((1L << index) - 1));
+        for (int w = 0; w < word; w++) {
+            rank += Long.bitCount(emptyBits[w]);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the empty cell with a given {@link #emptyRank(int) rank}.
+     *
+     * @param rank number of empty cells before it, {@code 0 <= rank < emptyCount()}
+     * @return flat index, or {@code -1} if {@code rank} is out of range
+     */
+    public int emptyCellByRank(int rank) {
+        if (rank < 0) return -1;
+        for (int w = 0; w < emptyBits.length; w++) {
+            long bits = emptyBits[w];
+            int count = Long.bitCount(bits);
+            if (rank < count) {
+                for (int k = 0; k < rank; k++) bits &= bits - 1;
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            rank -= count;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the largest exponent on the board.
+     *
+     * @return max exponent, 0 for an empty board
+     */
+    public int maxExponent() {
+        return maxExponent;
+    }
+
+    /**
+     * Returns the number of adjacent (horizontal or vertical) pairs of equal tiles.
+     *
+     * @return mergeable pair count
+     */
+    public int mergeablePairs() {
+        return mergeablePairs;
+    }
+
+    /**
+     * Checks whether any move is possible: an empty cell or two equal neighbours.
+     *
+     * @return {@code true} if at least one move would change the board
+     */
+    public boolean canMove() {
+        return emptyCount > 0 || mergeablePairs > 0;
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the board, a 64-bit key for position
+     * caches on any grid size.
+     *
+     * @return the board's hash
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Copies the exponents into {@code dst}.
+     *
+     * @param dst array of at least {@link #cellCount()} bytes
+     */
+    public void copyTo(byte[] dst) {
+        System.arraycopy(cells, 0, dst, 0, cells.length);
+    }
+
+    /**
+     * Makes this board an exact copy of another one of the same size,
+     * including the order of the empty-cell list. Spawns then land on the same
+     * cells on both boards for the same decisions.
+     *
+     * @param other board to copy
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public void copyFrom(BoardModel other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Board size " + other.size + " does not match " + size);
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.emptyBits, 0, emptyBits, 0, emptyBits.length);
+        System.arraycopy(other.emptyList, 0, emptyList, 0, emptyList.length);
+        System.arraycopy(other.emptyPos, 0, emptyPos, 0, emptyPos.length);
+        System.arraycopy(other.exponentCounts, 0, exponentCounts, 0, exponentCounts.length);
+        System.arraycopy(other.dirtyBits, 0, dirtyBits, 0, dirtyBits.length);
+        emptyCount = other.emptyCount;
+        maxExponent = other.maxExponent;
+        mergeablePairs = other.mergeablePairs;
+        hash = other.hash;
+        dirtyCount = other.dirtyCount;
+    }
+
+    /**
+     * Replaces the whole board with the given exponents.
+     *
+     * @param src array of at least {@link #cellCount()} bytes
+     */
+    public void load(byte[] src) {
+        System.arraycopy(src, 0, cells, 0, cells.length);
+        rebuildIndex();
+    }
+
+    // ----------------- dirty tracking -----------------
+
+    /**
+     * Returns the first dirty cell at or after {@code from}. Iterate with
+     * {@code for (int i = nextDirty(0); i >= 0; i = nextDirty(i + 1))}.
+     *
+     * @param from flat index to start at
+     * @return the next dirty cell index, or {@code -1} if there is none
+     */
+    public int nextDirty(int from) {
+        if (from >= cells.length) return -1;
+        int word = from >>> 6;
+        long bits = dirtyBits[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == dirtyBits.length) return -1;
+            bits = dirtyBits[word];
+        }
+    }
+
+    /**
+     * Returns whether a cell was written since the last {@link #clearDirty()}.
+     *
+     * @param index flat cell index
+     * @return {@code true} if the cell is dirty
+     */
+    public boolean isDirty(int index) {
+        return (dirtyBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the number of dirty cells.
+     *
+     * @return dirty cell count
+     */
+    public int dirtyCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * Returns the number of cells that were not written since the last
+     * {@link #clearDirty()}; a diagnostic for how much a frame could skip.
+     *
+     * @return unchanged cell count
+     */
+    public int unchangedCount() {
+        return cells.length - dirtyCount;
+    }
+
+    /**
+     * Clears all dirty marks; called once the current state has been drawn.
+     */
+    public void clearDirty() {
+        Arrays.fill(dirtyBits, 0L);
+        dirtyCount = 0;
+    }
+
+    // ----------------- index maintenance -----------------
+
+    /**
+     * Writes one cell and adjusts the index for the old and new value.
+     *
+     * @param index    flat cell index
+     * @param exponent new exponent
+     */
+    private void update(int index, int exponent) {
+        int old = cells[index];
+        long bit = 1L << index;
+        if ((dirtyBits[index >>> 6] & bit) == 0) {
+            dirtyBits[index >>> 6] |= bit;
+            dirtyCount++;
+        }
+        if (old != 0) mergeablePairs -= equalNeighbours(index, old);
+        cells[index] = (byte) exponent;
+        hash ^= Zobrist.key(index, old) ^ Zobrist.key(index, exponent);
+        if (exponent != 0) mergeablePairs += equalNeighbours(index, exponent);
+
+        if (old == 0) {
+            removeEmpty(index);
+        } else if (--exponentCounts[old] == 0 && old == maxExponent) {
+            while (maxExponent > 0 && exponentCounts[maxExponent] == 0) maxExponent--;
+        }
+
+        if (exponent == 0) {
+            addEmpty(index);
+        } else {
+            exponentCounts[exponent]++;
+            if (exponent > maxExponent) maxExponent = exponent;
+        }
+    }
+
+    /**
+     * Counts the orthogonal neighbours of a cell that hold {@code exponent}.
+     *
+     * @param index    flat cell index
+     * @param exponent exponent to compare against
+     * @return number of equal neighbours (0-4)
+     */
+    private int equalNeighbours(int index, int exponent) {
+        int row = index / size;
+        int col = index - row * size;
+        int n = 0;
+        if (col > 0 && cells[index - 1] == exponent) n++;
+        if (col < size - 1 && cells[index + 1] == exponent) n++;
+        if (row > 0 && cells[index - size] == exponent) n++;
+        if (row < size - 1 && cells[index + size] == exponent) n++;
+        return n;
+    }
+
+    private void addEmpty(int index) {
+        emptyBits[index >>> 6] |= 1L << index;
+        emptyPos[index] = emptyCount;
+        emptyList[emptyCount++] = index;
+    }
+
+    private void removeEmpty(int index) {
+        emptyBits[index >>> 6] &= ~(1L << index);
+        int pos = emptyPos[index];
+        int last = emptyList[--emptyCount];
+        emptyList[pos] = last;
+        emptyPos[last] = pos;
+        emptyPos[index] = -1;
+    }
+
+    /**
+     * Recomputes the whole index from {@link #cells} and marks every cell dirty;
+     * used after bulk writes.
+     */
+    private void rebuildIndex() {
+        Arrays.fill(dirtyBits, -1L);
+        int tail = cells.length & 63;
+        if (tail != 0) dirtyBits[dirtyBits.length - 1] = (1L << tail) - 1;
+        dirtyCount = cells.length;
+        Arrays.fill(emptyBits, 0L);
+        Arrays.fill(exponentCounts, 0);
+        emptyCount = 0;
+        maxExponent = 0;
+        mergeablePairs = 0;
+        hash = Zobrist.hash(cells);
+        for (int i = 0; i < cells.length; i++) {
+            int e = cells[i];
+            if (e == 0) {
+                addEmpty(i);
+                continue;
+            }
+            emptyPos[i] = -1;
+            exponentCounts[e]++;
+            if (e > maxExponent) maxExponent = e;
+            int col = i % size;
+            if (col < size - 1 && cells[i + 1] == e) mergeablePairs++;
+            if (i + size < cells.length && cells[i + size] == e) mergeablePairs++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.model;
+
+/**
+ * The four directions a board can be shifted in.
+ *
+ * <p>Used by the move engines ({@link BitBoardEngine} and friends) so game logic
+ * can be driven without going through JavaFX key codes.</p>
+ *
+ * @since 1.1
+ */
+public enum Direction {
+    /** Tiles slide towards column 0. */
+    LEFT,
+    /** Tiles slide towards the last column. */
+    RIGHT,
+    /** Tiles slide towards row 0. */
+    UP,
+    /** Tiles slide towards the last row. */
+    DOWN
+}
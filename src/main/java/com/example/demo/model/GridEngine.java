@@ -0,0 +1,102 @@
+package com.example.demo.model;
+
+/**
+ * Move engine for boards of any size, used by the 8x8 and 10x10 levels.
+ *
+ * <p>The board is a flat {@code byte[]} of exponents (see {@link MoveEngine}).
+ * Every move walks each line once, compacting and merging in place: rows are
+ * walked with stride 1 and columns with stride {@code size}, so there are no
+ * per-tile destination scans and nothing is allocated.</p>
+ *
+ * <p>Lookup tables like the ones in {@link BitBoardEngine} do not scale here
+ * (an 8-cell row of 4-bit exponents has 2^32 states), and the single pass is
+ * already linear in the row length.</p>
+ *
+ * @since 1.1
+ */
+public final class GridEngine implements MoveEngine {
+
+    /**
+     * Highest exponent that may still merge (2^20 = 1,048,576). Keeps the score of
+     * a whole move inside an {@code int} on every supported grid size.
+     */
+    public static final int MAX_EXPONENT = 20;
+
+    private final int size;
+
+    /**
+     * Creates an engine for a square board.
+     *
+     * @param size board side length (at least 2)
+     */
+    public GridEngine(int size) {
+        if (size < 2) throw new IllegalArgumentException("Grid size must be at least 2: " + size);
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int move(byte[] cells, Direction dir) {
+        return move(cells, dir, null);
+    }
+
+    @Override
+    public int move(byte[] cells, Direction dir, MoveDelta delta) {
+        int n = size;
+        int total = -1;
+        for (int line = 0; line < n; line++) {
+            int gained = switch (dir) {
+                case LEFT -> slide(cells, line * n, 1, delta);
+                case RIGHT -> slide(cells, line * n + n - 1, -1, delta);
+                case UP -> slide(cells, line, n, delta);
+                case DOWN -> slide(cells, (n - 1) * n + line, -n, delta);
+            };
+            if (gained >= 0) total = Math.max(total, 0) + gained;
+        }
+        return total;
+    }
+
+    /**
+     * Slides and merges one line towards {@code start}, in place.
+     *
+     * @param cells flat board
+     * @param start index of the first cell in the move direction
+     * @param step  distance between consecutive cells of the line
+     * @param delta receives tile events, may be {@code null}
+     * @return the score gained, or {@code -1} if the line did not change
+     */
+    private int slide(byte[] cells, int start, int step, MoveDelta delta) {
+        int n = size;
+        int write = start;
+        int prev = 0;
+        int score = 0;
+        boolean changed = false;
+        for (int k = 0, idx = start; k < n; k++, idx += step) {
+            int v = cells[idx];
+            if (v == 0) continue;
+            if (v == prev && v < MAX_EXPONENT) {
+                cells[write - step] = (byte) (v + 1);
+                score += 1 << (v + 1);
+                prev = 0;
+                changed = true;
+                if (delta != null) delta.merge(idx, write - step, v + 1);
+            } else {
+                if (idx != write) {
+                    cells[write] = (byte) v;
+                    changed = true;
+                    if (delta != null) delta.slide(idx, write, v);
+                }
+                prev = v;
+                write += step;
+            }
+        }
+        for (int idx = write, end = start + n * step; idx != end; idx += step) {
+            cells[idx] = 0;
+        }
+        return changed ? score : -1;
+    }
+}
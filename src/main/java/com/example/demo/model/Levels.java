@@ -0,0 +1,62 @@
+package com.example.demo.model;
+
+/**
+ * The game's levels: grid size, target tile and hint time budget of each.
+ *
+ * <p>Kept in the model, free of JavaFX, so headless tools can iterate over the
+ * same levels as {@code GameScene}.</p>
+ *
+ * @since 1.1
+ */
+public final class Levels {
+
+    /** Level descriptors: {gridSize, targetTile, hintBudgetMillis}. */
+    private static final int[][] LEVELS = {
+        {4, 2048, 50},
+        {8, 4096, 80},
+        {10, 8192, 120}
+    };
+
+    private Levels() {
+    }
+
+    /**
+     * Returns the number of levels.
+     *
+     * @return level count
+     */
+    public static int count() {
+        return LEVELS.length;
+    }
+
+    /**
+     * Returns the grid side length of a level.
+     *
+     * @param level 0-based level index
+     * @return grid size
+     */
+    public static int gridSize(int level) {
+        return LEVELS[level][0];
+    }
+
+    /**
+     * Returns the tile value that wins a level.
+     *
+     * @param level 0-based level index
+     * @return target tile value
+     */
+    public static int targetTile(int level) {
+        return LEVELS[level][1];
+    }
+
+    /**
+     * Returns how long a hint search may run on a level. Larger boards branch
+     * more, so they get more time to reach the same depth.
+     *
+     * @param level 0-based level index
+     * @return time budget in milliseconds
+     */
+    public static long hintBudgetMillis(int level) {
+        return LEVELS[level][2];
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+
+/**
+ * Compact list of tile events produced by one move (and the spawn after it).
+ *
+ * <p>Each event is a single {@code int}:</p>
+ * <ul>
+ *   <li>bits 0-1: type ({@link #SLIDE}, {@link #MERGE} or {@link #SPAWN})</li>
+ *   <li>bits 2-11: source cell index</li>
+ *   <li>bits 12-21: destination cell index</li>
+ *   <li>bits 22-27: exponent shown at the destination afterwards</li>
+ * </ul>
+ *
+ * <p>Events are recorded in an order that can be replayed one by one: a
+ * {@link #SLIDE} always targets a cell that is already empty at that point, and
+ * a {@link #MERGE} targets the cell where the first tile of the pair already sits.
+ * A move that changes nothing leaves the delta empty. Instances are reused
+ * between moves, so recording does not allocate.</p>
+ *
+ * <p>The view does not read deltas; it repaints the cells {@link BoardModel}
+ * marks dirty. Their consumer is {@code GridExpectimax}, which updates a
+ * node's {@link Zobrist} key from the events with
+ * {@link Zobrist#apply(long, MoveDelta, int)} instead of rehashing the board.</p>
+ *
+ * @since 1.1
+ */
+public final class MoveDelta {
+
+    /** A tile moved from one cell to an empty cell without merging. */
+    public static final int SLIDE = 0;
+
+    /** A tile was consumed by the tile already at the destination, which doubled. */
+    public static final int MERGE = 1;
+
+    /** A new tile appeared; source and destination are the same cell. */
+    public static final int SPAWN = 2;
+
+    private int[] events;
+    private int size;
+
+    /**
+     * Creates a delta sized for a board, so it never has to grow.
+     *
+     * @param cellCount number of cells on the board
+     */
+    public MoveDelta(int cellCount) {
+        this.events = new int[cellCount + 2];
+    }
+
+    /**
+     * Removes all events.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of recorded events.
+     *
+     * @return event count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether nothing was recorded.
+     *
+     * @return {@code true} if there are no events
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an encoded event.
+     *
+     * @param i event position, {@code 0 <= i < size()}
+     * @return the encoded event
+     */
+    public int event(int i) {
+        return events[i];
+    }
+
+    /**
+     * Records a tile sliding to an empty cell.
+     *
+     * @param from     source cell index
+     * @param to       destination cell index
+     * @param exponent exponent of the tile
+     */
+    public void slide(int from, int to, int exponent) {
+        add(SLIDE, from, to, exponent);
+    }
+
+    /**
+     * Records a tile merging into the tile at {@code to}.
+     *
+     * @param from     cell index of the consumed tile
+     * @param to       cell index of the surviving tile
+     * @param exponent exponent of the merged tile
+     */
+    public void merge(int from, int to, int exponent) {
+        add(MERGE, from, to, exponent);
+    }
+
+    /**
+     * Records a spawned tile.
+     *
+     * @param at       cell index
+     * @param exponent exponent of the new tile
+     */
+    public void spawn(int at, int exponent) {
+        add(SPAWN, at, at, exponent);
+    }
+
+    /**
+     * Decodes the event type.
+     *
+     * @param event encoded event
+     * @return {@link #SLIDE}, {@link #MERGE} or {@link #SPAWN}
+     */
+    public static int type(int event) {
+        return event & 0x3;
+    }
+
+    /**
+     * Decodes the source cell index.
+     *
+     * @param event encoded event
+     * @return source cell index
+     */
+    public static int from(int event) {
+        return (event >>> 2) & 0x3FF;
+    }
+
+    /**
+     * Decodes the destination cell index.
+     *
+     * @param event encoded event
+     * @return destination cell index
+     */
+    public static int to(int event) {
+        return (event >>> 12) & 0x3FF;
+    }
+
+    /**
+     * Decodes the exponent shown at the destination.
+     *
+     * @param event encoded event
+     * @return exponent
+     */
+    public static int exponent(int event) {
+        return (event >>> 22) & 0x3F;
+    }
+
+    private void add(int type, int from, int to, int exponent) {
+        if (size == events.length) events = Arrays.copyOf(events, size * 2);
+        events[size++] = type | from << 2 | to << 12 | exponent << 22;
+    }
+}
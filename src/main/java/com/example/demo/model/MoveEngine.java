@@ -0,0 +1,50 @@
+package com.example.demo.model;
+
+/**
+ * Applies moves to a square board stored as a flat array of exponents.
+ *
+ * <p>Cell {@code (row, col)} lives at index {@code row * size + col}; each byte is
+ * the tile exponent (0 = empty, 1 = 2, 2 = 4, ...). Implementations work in place
+ * and must not allocate on the move path.</p>
+ *
+ * @since 1.1
+ */
+public interface MoveEngine {
+
+    /**
+     * Returns the board side length this engine handles.
+     *
+     * @return grid size
+     */
+    int size();
+
+    /**
+     * Applies a move in place.
+     *
+     * @param cells flat exponent array of length {@code size() * size()}
+     * @param dir   move direction
+     * @return the score gained by merges, or {@code -1} if nothing moved
+     */
+    int move(byte[] cells, Direction dir);
+
+    /**
+     * Applies a move in place and records what happened to each tile.
+     *
+     * @param cells flat exponent array of length {@code size() * size()}
+     * @param dir   move direction
+     * @param delta receives the slide and merge events; left untouched if nothing moved
+     * @return the score gained by merges, or {@code -1} if nothing moved
+     */
+    int move(byte[] cells, Direction dir, MoveDelta delta);
+
+    /**
+     * Picks the fastest engine for a grid size: the packed {@link BitBoardEngine}
+     * for 4x4 boards, {@link GridEngine} otherwise.
+     *
+     * @param gridSize board side length
+     * @return an engine for that size
+     */
+    static MoveEngine forGridSize(int gridSize) {
+        return gridSize == BitBoardEngine.SIZE ? BitBoardEngine.asMoveEngine() : new GridEngine(gridSize);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the games in a log written by {@link ReplayRecorder} and plays them
+ * back.
+ *
+ * @since 1.1
+ */
+public final class ReplayReader {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private ReplayReader() {
+    }
+
+    /**
+     * One recorded game.
+     *
+     * @param level         0-based level index
+     * @param gridSize      board side length
+     * @param seeded        whether spawns follow {@code seed} rather than the stream
+     * @param seed          spawn seed, 0 when not seeded
+     * @param startMillis   wall-clock start time
+     * @param moves         number of moves played
+     * @param openingSpawns tiles spawned before the first move
+     * @param finalSpawn    whether a tile spawned after the last move (not after a winning move)
+     * @param body          the encoded moves and spawns
+     */
+    public record Game(int level, int gridSize, boolean seeded, long seed, long startMillis,
+                       int moves, int openingSpawns, boolean finalSpawn, byte[] body) {
+
+        /**
+         * Plays the game back on an empty board.
+         *
+         * @return the final position, score and moves
+         * @throws IllegalStateException if the record does not describe a legal game
+         */
+        public Replay replay() {
+            BoardModel board = new BoardModel(gridSize);
+            SpawnRng rng = seeded ? new SpawnRng(seed) : null;
+            BitReader in = new BitReader(body);
+            List<Direction> played = new ArrayList<>(moves);
+            long score = 0;
+            for (int s = 0; s < openingSpawns; s++) spawn(board, rng, in);
+            for (int m = 0; m < moves; m++) {
+                Direction dir = DIRECTIONS[in.read(2)];
+                int gained = board.move(dir);
+                if (gained < 0) throw new IllegalStateException("Move " + m + " (" + dir + ") changes nothing");
+                score += gained;
+                played.add(dir);
+                if (m < moves - 1 || finalSpawn) spawn(board, rng, in);
+            }
+            return new Replay(board, score, played);
+        }
+
+        private static void spawn(BoardModel board, SpawnRng rng, BitReader in) {
+            if (rng != null) {
+                board.spawn(rng);
+                return;
+            }
+            int exponent = in.read(1) + 1;
+            int index = board.emptyCellByRank(in.read(ReplayRecorder.bitsFor(board.emptyCount())));
+            if (index < 0) throw new IllegalStateException("Spawn on a full board or past the end of the record");
+            board.setExponent(index, exponent);
+        }
+    }
+
+    /**
+     * The result of playing a game back.
+     *
+     * @param board final position
+     * @param score final score
+     * @param moves moves in order
+     */
+    public record Replay(BoardModel board, long score, List<Direction> moves) {
+    }
+
+    /**
+     * Reads every finished game in a log. A game without an end record, e.g.
+     * because the application was killed, is skipped; only the last record of
+     * the file may be cut off.
+     *
+     * @param file log written by {@link ReplayRecorder}
+     * @return games in the order they were played
+     * @throws IOException if the file cannot be read or is malformed anywhere
+     *                     but in its last record
+     */
+    public static List<Game> read(Path file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = ByteBuffer.allocate((int) channel.size());
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // keep reading
+            }
+            in.flip();
+        }
+
+        if (in.remaining() < 5 || in.getInt() != ReplayRecorder.MAGIC || in.get() != ReplayRecorder.VERSION) {
+            throw new IOException(file + " is not a replay log");
+        }
+        List<Game> games = new ArrayList<>();
+        ByteBuffer header = null;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (in.hasRemaining()) {
+            int offset = in.position();
+            byte tag = in.get();
+            int length;
+            if (tag == ReplayRecorder.GAME) {
+                length = ReplayRecorder.GAME_BYTES;
+            } else if (tag == ReplayRecorder.END) {
+                length = ReplayRecorder.END_BYTES;
+            } else if (tag != ReplayRecorder.CHUNK) {
+                throw new IOException("Unknown record " + tag + " at offset " + offset + " in " + file);
+            } else if (in.remaining() < 4) {
+                break; // the last record was cut off
+            } else {
+                length = in.getInt();
+                if (length <= 0 || length > ReplayRecorder.CHUNK_BYTES) {
+                    throw new IOException("Bad chunk length " + length + " at offset " + offset + " in " + file);
+                }
+            }
+            if (length > in.remaining()) break; // the last record was cut off: an unfinished game
+            switch (tag) {
+                case ReplayRecorder.GAME -> {
+                    header = in.slice(in.position(), length);
+                    body.reset();
+                }
+                case ReplayRecorder.CHUNK -> {
+                    if (header != null) body.write(in.array(), in.arrayOffset() + in.position(), length);
+                }
+                default -> {
+                    if (header != null) {
+                        games.add(new Game(header.get(0), header.get(1), header.get(2) != 0,
+                            header.getLong(3), header.getLong(11), in.getInt(in.position()),
+                            in.getInt(in.position() + 4), in.get(in.position() + 8) != 0, body.toByteArray()));
+                    }
+                    header = null;
+                }
+            }
+            in.position(in.position() + length);
+        }
+        return games;
+    }
+
+    /** Reads a bit stream least significant bit first. */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long position;
+
+        BitReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int read(int bits) {
+            int value = 0;
+            for (int k = 0; k < bits; k++, position++) {
+                int index = (int) (position >>> 3);
+                if (index >= bytes.length) throw new IllegalStateException("Record ends early");
+                value |= ((bytes[index] >>> (position & 7)) & 1) << k;
+            }
+            return value;
+        }
+    }
+}
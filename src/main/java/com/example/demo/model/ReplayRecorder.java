@@ -0,0 +1,283 @@
+package com.example.demo.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every game played to a compact binary log, for archiving and
+ * replay with {@link ReplayReader}.
+ *
+ * <p>A game starts with its level, grid size (from {@link Levels}) and spawn
+ * seed. Each move then takes 2 bits. Spawns are stored only when the
+ * {@link SpawnRng} is not seeded, since a seed reproduces them: 1 bit for the
+ * value, and the cell's rank among the empty cells in as many bits as that
+ * count needs, usually 2 to 4. A seeded 10,000-move game therefore takes about
+ * 2.5 KB, an unseeded one 6 to 12 KB depending on the board.</p>
+ *
+ * <p>A seeded game is played back with {@link BoardModel#spawn(SpawnRng)}, so
+ * it only replays correctly while the spawn cell is chosen the same way: the
+ * {@link SpawnRng} decisions and how {@link SpawnRng#slot(long, int)} maps
+ * them, and the order of {@link BoardModel}'s empty-cell list, which depends
+ * on the board's history (a cell that fills is swapped with the last entry,
+ * a cell that empties is appended). Both are part of the format: a change to
+ * either must bump {@link #VERSION}. Unseeded games store the spawn cell by
+ * {@link BoardModel#emptyRank(int) rank}, which does not depend on either.</p>
+ *
+ * <p>The calls that encode a game only pack bits into a 4 KB buffer. Full
+ * buffers and the game's header and end record are appended to the file by a
+ * single daemon thread with {@link FileChannel}, so a move never waits on the
+ * disk. Encoding is not synchronized: the thread that plays the game calls it,
+ * and a game handed to another thread (autoplay) must be handed over with a
+ * happens-before edge such as {@link Thread#join()}. If the file cannot be
+ * written, recording stops with a message on {@code System.err}.</p>
+ *
+ * <p>File layout, big-endian: {@code int MAGIC, byte VERSION}, then records,
+ * each starting with a tag byte:</p>
+ * <ul>
+ *   <li>{@link #GAME}: {@code byte level, byte gridSize, byte seeded,
+ *       long seed, long startMillis}</li>
+ *   <li>{@link #CHUNK}: {@code int length}, then that many bytes of the
+ *       game's bit stream, least significant bit first</li>
+ *   <li>{@link #END}: {@code int moves, int openingSpawns, byte finalSpawn}</li>
+ * </ul>
+ *
+ * <p>A record cut off because the application was killed is dropped when the
+ * log is reopened, so only the last record of a file can be incomplete.</p>
+ *
+ * @since 1.1
+ */
+public final class ReplayRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x43325250; // "C2RP"
+    /** Format version; also covers how seeded games pick spawn cells (see above). */
+    static final byte VERSION = 1;
+    static final byte GAME = 1;
+    static final byte CHUNK = 2;
+    static final byte END = 3;
+    /** Bytes after the tag of a {@link #GAME} record. */
+    static final int GAME_BYTES = 19;
+    /** Bytes after the tag of an {@link #END} record. */
+    static final int END_BYTES = 9;
+    /** Encoded bytes buffered before they are handed to the writer. */
+    static final int CHUNK_BYTES = 4096;
+
+    private final FileChannel channel;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "replay-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean failed;
+
+    // encoder state, owned by the thread playing the game
+    private boolean inGame;
+    private boolean seeded;
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private int chunkSize;
+    private long pending;         // bits not yet in chunk, lowest first
+    private int pendingBits;
+    private int moves;
+    private int openingSpawns;
+    private boolean spawnedSinceMove;
+
+    private ReplayRecorder(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log for appending, creating it and its directory if needed. A
+     * record cut off at the end of the file is truncated away first.
+     *
+     * @param file log file
+     * @return the recorder
+     * @throws IOException if the file cannot be opened, or exists and is not a replay log
+     */
+    public static ReplayRecorder open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        try {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(5).putInt(MAGIC).put(VERSION).flip(), 0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(5);
+                channel.read(header, 0);
+                if (header.flip().remaining() < 5 || header.getInt() != MAGIC || header.get() != VERSION) {
+                    throw new IOException(file + " is not a replay log");
+                }
+            }
+            long end = completeLength(channel);
+            channel.truncate(end);
+            channel.position(end);
+            return new ReplayRecorder(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the length of the log up to its last complete record. Only the
+     * record headers are read.
+     *
+     * @param channel log opened for reading, with a valid file header
+     * @return offset just past the last complete record
+     * @throws IOException if the file cannot be read or holds an unknown record
+     */
+    private static long completeLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long end = 5;
+        ByteBuffer head = ByteBuffer.allocate(5);
+        while (end < size) {
+            head.clear();
+            channel.read(head, end);
+            head.flip();
+            byte tag = head.get();
+            int length;
+            if (tag == GAME) {
+                length = GAME_BYTES;
+            } else if (tag == END) {
+                length = END_BYTES;
+            } else if (tag != CHUNK) {
+                throw new IOException("Unknown record " + tag + " at offset " + end);
+            } else if (head.remaining() < 4) {
+                break; // cut off when the application was killed
+            } else {
+                int chunkLength = head.getInt();
+                if (chunkLength <= 0 || chunkLength > CHUNK_BYTES) {
+                    throw new IOException("Bad chunk length " + chunkLength + " at offset " + end);
+                }
+                length = 4 + chunkLength;
+            }
+            if (length > size - end - 1) break; // cut off when the application was killed
+            end += 1 + length;
+        }
+        return end;
+    }
+
+    /**
+     * Starts recording a new game, ending the previous one if it is still open.
+     * Call before the opening spawns.
+     *
+     * @param level 0-based level index; the grid size is taken from {@link Levels}
+     * @param rng   the game's spawn generator; only its seed is read
+     */
+    public void startGame(int level, SpawnRng rng) {
+        endGame();
+        inGame = true;
+        seeded = rng.isSeeded();
+        moves = 0;
+        openingSpawns = 0;
+        spawnedSinceMove = false;
+        submit(ByteBuffer.allocate(1 + GAME_BYTES)
+            .put(GAME).put((byte) level).put((byte) Levels.gridSize(level)).put((byte) (seeded ? 1 : 0))
+            .putLong(seeded ? rng.seed() : 0L).putLong(System.currentTimeMillis())
+            .flip());
+    }
+
+    /**
+     * Records a spawn. Call right after it, with the board that received it.
+     *
+     * @param board the game's board
+     * @param index flat index of the new tile
+     */
+    public void spawn(BoardModel board, int index) {
+        if (!inGame) return;
+        if (moves == 0) openingSpawns++;
+        else spawnedSinceMove = true;
+        if (seeded) return;
+        write(board.exponentAt(index) - 1, 1);
+        write(board.emptyRank(index), bitsFor(board.emptyCount() + 1));
+    }
+
+    /**
+     * Records a move that changed the board.
+     *
+     * @param dir move direction
+     */
+    public void move(Direction dir) {
+        if (!inGame) return;
+        moves++;
+        spawnedSinceMove = false;
+        write(dir.ordinal(), 2);
+    }
+
+    /**
+     * Ends the current game, e.g. when it is lost or won. Does nothing if no
+     * game is open.
+     */
+    public void endGame() {
+        if (!inGame) return;
+        inGame = false;
+        if (pendingBits > 0) write(0, 8 - pendingBits); // pad to a whole byte
+        flushChunk();
+        submit(ByteBuffer.allocate(1 + END_BYTES)
+            .put(END).putInt(moves).putInt(openingSpawns).put((byte) (spawnedSinceMove ? 1 : 0))
+            .flip());
+    }
+
+    /**
+     * Ends the current game and waits until everything is on disk.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        endGame();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Returns the number of bits that can hold every value below {@code n}.
+     *
+     * @param n number of distinct values (at least 1)
+     * @return bit count, 0 when {@code n} is 1
+     */
+    static int bitsFor(int n) {
+        return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+
+    private void write(int value, int bits) {
+        pending |= (long) value << pendingBits;
+        pendingBits += bits;
+        while (pendingBits >= 8) {
+            chunk[chunkSize++] = (byte) pending;
+            pending >>>= 8;
+            pendingBits -= 8;
+            if (chunkSize == CHUNK_BYTES) flushChunk();
+        }
+    }
+
+    private void flushChunk() {
+        if (chunkSize == 0) return;
+        submit(ByteBuffer.allocate(5 + chunkSize).put(CHUNK).putInt(chunkSize).put(chunk, 0, chunkSize).flip());
+        chunkSize = 0;
+    }
+
+    private void submit(ByteBuffer record) {
+        if (failed) return;
+        writer.execute(() -> {
+            if (failed) return;
+            try {
+                while (record.hasRemaining()) channel.write(record);
+            } catch (IOException e) {
+                failed = true;
+                System.err.println("[ReplayRecorder] Recording stopped: " + e);
+            }
+        });
+    }
+}
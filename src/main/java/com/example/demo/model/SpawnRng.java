@@ -0,0 +1,161 @@
+package com.example.demo.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-session random source for tile spawns.
+ *
+ * <p>Every spawn consumes exactly one 64-bit <em>decision</em>: the high 32 bits
+ * pick the empty cell and the lowest bit picks a 2 or a 4 (50/50, as the game
+ * always did). Decisions are drawn from a {@link SplittableRandom} in batches,
+ * so a game does not allocate or reseed per spawn. Because each spawn consumes
+ * one decision whatever the batch size, a seed fully determines the spawn
+ * sequence, both in {@code GameScene} and headless.</p>
+ *
+ * <p>{@link #split()} derives independent child generators, for example one per
+ * simulated game, from a separate stream. Splitting therefore never shifts the
+ * parent's own spawn sequence.</p>
+ *
+ * <p>Instances are not thread-safe; give each thread its own split.</p>
+ *
+ * @since 1.1
+ */
+public final class SpawnRng {
+
+    /** Default number of decisions generated per refill. */
+    public static final int DEFAULT_BATCH = 64;
+
+    /** Source of spawn decisions. */
+    private final SplittableRandom random;
+
+    /** Separate stream used only to seed children, see {@link #split()}. */
+    private final SplittableRandom splitter;
+
+    /** Seed this generator was created from; meaningful only when {@link #seeded}. */
+    private final long seed;
+
+    /** Whether the seed is known, i.e. the spawn sequence can be reproduced. */
+    private final boolean seeded;
+
+    /** Pre-generated decisions. */
+    private final long[] batch;
+
+    /** Next unused slot in {@link #batch}; {@code batch.length} when empty. */
+    private int next;
+
+    /**
+     * Creates a reproducible generator.
+     *
+     * @param seed seed that determines the whole spawn sequence
+     */
+    public SpawnRng(long seed) {
+        this(new SplittableRandom(seed), seed, true, DEFAULT_BATCH);
+    }
+
+    /**
+     * Creates a reproducible generator with a custom batch size.
+     *
+     * @param seed      seed that determines the whole spawn sequence
+     * @param batchSize decisions generated per refill (at least 1)
+     */
+    public SpawnRng(long seed, int batchSize) {
+        this(new SplittableRandom(seed), seed, true, batchSize);
+    }
+
+    /**
+     * Creates a generator with an unknown seed; its games cannot be replayed from a seed.
+     */
+    public SpawnRng() {
+        this(new SplittableRandom(), 0L, false, DEFAULT_BATCH);
+    }
+
+    private SpawnRng(SplittableRandom random, long seed, boolean seeded, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        this.random = random;
+        this.splitter = random.split();
+        this.seed = seed;
+        this.seeded = seeded;
+        this.batch = new long[batchSize];
+        this.next = batchSize;
+    }
+
+    /**
+     * Returns whether this generator was created from a known seed.
+     *
+     * @return {@code true} if {@link #seed()} reproduces the spawn sequence
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Returns the seed this generator was created from.
+     *
+     * @return the seed
+     * @throws IllegalStateException if the generator is not seeded
+     */
+    public long seed() {
+        if (!seeded) throw new IllegalStateException("Spawn RNG was created without a seed");
+        return seed;
+    }
+
+    /**
+     * Creates an independent child generator. A seeded parent yields seeded
+     * children, so parallel simulations stay reproducible from one root seed.
+     *
+     * @return a new generator
+     */
+    public SpawnRng split() {
+        long childSeed = splitter.nextLong();
+        if (seeded) return new SpawnRng(childSeed, batch.length);
+        return new SpawnRng(new SplittableRandom(childSeed), 0L, false, batch.length);
+    }
+
+    /**
+     * Consumes and returns the next spawn decision.
+     *
+     * @return a 64-bit decision for {@link #slot(long, int)} and {@link #exponent(long)}
+     */
+    public long nextDecision() {
+        if (next == batch.length) refill();
+        return batch[next++];
+    }
+
+    /**
+     * Returns the next spawn decision without consuming it.
+     *
+     * @return the decision the next {@link #nextDecision()} call will return
+     */
+    public long peekDecision() {
+        if (next == batch.length) refill();
+        return batch[next];
+    }
+
+    /**
+     * Maps a decision to a position in a list of {@code emptyCount} empty cells.
+     *
+     * @param decision   a value from {@link #nextDecision()}
+     * @param emptyCount number of empty cells (positive)
+     * @return index in {@code [0, emptyCount)}
+     */
+    public static int slot(long decision, int emptyCount) {
+        return (int) (((decision >>> 32) * emptyCount) >>> 32);
+    }
+
+    /**
+     * Maps a decision to the exponent of the spawned tile.
+     *
+     * @param decision a value from {@link #nextDecision()}
+     * @return 1 for a 2, 2 for a 4
+     */
+    public static int exponent(long decision) {
+        return (int) (decision & 1) + 1;
+    }
+
+    private void refill() {
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = random.nextLong();
+        }
+        next = 0;
+    }
+}
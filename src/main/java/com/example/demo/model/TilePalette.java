@@ -0,0 +1,112 @@
+package com.example.demo.model;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Tile and text colors for every tile exponent, built once.
+ *
+ * <p>Entry {@code e} describes the tile with value {@code 2^e}; entry 0 is the
+ * empty cell. Colors are immutable, so the same instances are shared by every
+ * cell and recoloring a tile is an array lookup.</p>
+ *
+ * <p>The ramp goes from cool blues (2-16) through greens (32-64) and ambers
+ * (128-512) to hot reds (1024+). Every color is semi-transparent so the
+ * background image shows through. Darker and warmer tiles get light text.</p>
+ *
+ * @since 1.1
+ */
+public final class TilePalette {
+
+    /** Number of exponents covered; tile values up to {@code 2^31}. */
+    public static final int SIZE = 32;
+
+    private static final Color DARK_TEXT = Color.rgb(30, 35, 45, 0.92);
+    private static final Color LIGHT_TEXT = Color.rgb(250, 252, 255, 0.95);
+
+    private static final TilePalette STANDARD = new TilePalette();
+
+    private final Color[] tileColors = new Color[SIZE];
+    private final Color[] textColors = new Color[SIZE];
+    private final boolean[] lightText = new boolean[SIZE];
+
+    private TilePalette() {
+        for (int e = 0; e < SIZE; e++) {
+            Color tile = tileColor(e == 0 ? 0 : 1 << e, e);
+            boolean light = e >= 7 || tile.getOpacity() >= 0.75 || tile.getRed() > 0.9;
+            tileColors[e] = tile;
+            lightText[e] = light;
+            textColors[e] = light ? LIGHT_TEXT : DARK_TEXT;
+        }
+    }
+
+    /**
+     * Returns the game's standard palette.
+     *
+     * @return the shared palette
+     */
+    public static TilePalette standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Returns the fill of a tile.
+     *
+     * @param exponent tile exponent, 0 for an empty cell
+     * @return tile color
+     */
+    public Color tileColor(int exponent) {
+        return tileColors[exponent];
+    }
+
+    /**
+     * Returns the color of a tile's number.
+     *
+     * @param exponent tile exponent, 0 for an empty cell
+     * @return text color
+     */
+    public Color textColor(int exponent) {
+        return textColors[exponent];
+    }
+
+    /**
+     * Returns whether a tile uses light text for contrast.
+     *
+     * @param exponent tile exponent, 0 for an empty cell
+     * @return {@code true} for light text on a dark or warm tile
+     */
+    public boolean isLightText(int exponent) {
+        return lightText[exponent];
+    }
+
+    /**
+     * Converts a tile value to a palette index.
+     *
+     * @param number a power-of-two tile value, or 0
+     * @return its exponent, 0 for an empty cell
+     */
+    public static int exponentOf(int number) {
+        return number == 0 ? 0 : Integer.numberOfTrailingZeros(number);
+    }
+
+    private static Color tileColor(int number, int exponent) {
+        return switch (number) {
+            case 0 -> Color.rgb(224, 226, 226, 0.45);           // empty
+            case 2 -> Color.rgb(210, 240, 255, 0.55);           // pale cyan
+            case 4 -> Color.rgb(190, 225, 255, 0.58);
+            case 8 -> Color.rgb(170, 210, 255, 0.62);
+            case 16 -> Color.rgb(155, 195, 255, 0.66);
+            case 32 -> Color.rgb(200, 235, 200, 0.62);          // mint
+            case 64 -> Color.rgb(175, 225, 180, 0.66);
+            case 128 -> Color.rgb(255, 235, 170, 0.68);         // soft amber
+            case 256 -> Color.rgb(255, 220, 140, 0.72);
+            case 512 -> Color.rgb(255, 200, 120, 0.75);
+            case 1024 -> Color.rgb(255, 170, 110, 0.78);
+            case 2048 -> Color.rgb(255, 145, 100, 0.82);
+            case 4096 -> Color.rgb(255, 120, 95, 0.85);
+            case 8192 -> Color.rgb(255, 95, 90, 0.88);
+            case 16384 -> Color.rgb(255, 70, 85, 0.90);
+            // For bigger numbers, keep deepening slightly
+            default -> Color.color(0.95, 0.25, 0.30, Math.min(0.92, 0.80 + 0.02 * exponent));
+        };
+    }
+}
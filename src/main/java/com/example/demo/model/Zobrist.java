@@ -0,0 +1,79 @@
+package com.example.demo.model;
+
+/**
+ * Zobrist hashing of boards of any size.
+ *
+ * <p>A board's hash is the XOR of one 64-bit key per occupied cell, chosen by
+ * cell index and exponent; empty cells contribute nothing. Changing a cell
+ * therefore costs two XORs, and {@link BoardModel} keeps its
+ * {@link BoardModel#hash()} current on every write instead of rescanning the
+ * grid. Keys are derived from {@code (index, exponent)} by a SplitMix64
+ * finalizer rather than read from a random table, so they need no storage and
+ * work for every grid size up to the 1024 cells a {@link MoveDelta} can
+ * address.</p>
+ *
+ * <p>The hash is a 64-bit key for caches and transposition tables that cannot
+ * store the full position. The packed 4x4 board of {@link BitBoardEngine} is
+ * already exact and needs no hashing. The same cells give the same hash on
+ * every board size, so caches that mix sizes should key by size as well.</p>
+ *
+ * @since 1.1
+ */
+public final class Zobrist {
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of one tile.
+     *
+     * @param index    flat cell index
+     * @param exponent tile exponent
+     * @return the key, or 0 for an empty cell
+     */
+    public static long key(int index, int exponent) {
+        if (exponent == 0) return 0;
+        long z = ((long) index << 6 | exponent) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Hashes a board from scratch.
+     *
+     * @param cells tile exponents, row-major
+     * @return the board's hash
+     */
+    public static long hash(byte[] cells) {
+        long h = 0;
+        for (int i = 0; i < cells.length; i++) {
+            h ^= key(i, cells[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Updates a hash with the events of a delta, e.g. to follow a recorded
+     * game without rebuilding its boards.
+     *
+     * @param hash  hash of the board before the events
+     * @param delta recorded events
+     * @param first position of the first event to apply
+     * @return hash of the board after the events
+     */
+    public static long apply(long hash, MoveDelta delta, int first) {
+        for (int k = first; k < delta.size(); k++) {
+            int event = delta.event(k);
+            int from = MoveDelta.from(event);
+            int to = MoveDelta.to(event);
+            int exponent = MoveDelta.exponent(event);
+            switch (MoveDelta.type(event)) {
+                case MoveDelta.SLIDE -> hash ^= key(from, exponent) ^ key(to, exponent);
+                case MoveDelta.MERGE -> hash ^= key(from, exponent - 1) ^ key(to, exponent - 1) ^ key(to, exponent);
+                default -> hash ^= key(to, exponent);
+            }
+        }
+        return hash;
+    }
+}
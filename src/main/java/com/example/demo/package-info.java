@@ -9,9 +9,14 @@
  *       {@link com.example.demo.view.EndGame}.</li>
  *   <li><b>model</b> – Data objects like
  *       {@link com.example.demo.model.Cell} and
- *       {@link com.example.demo.model.Account}.</li>
+ *       {@link com.example.demo.model.Account}, and the headless
+ *       {@link com.example.demo.model.BoardModel} with its move engines.</li>
+ *   <li><b>ai</b> – Automated move policies and the parallel
+ *       {@link com.example.demo.ai.SimulationRunner} behind the headless
+ *       {@link com.example.demo.Simulation} tool.</li>
  *   <li><b>utils</b> – Helpers such as
- *       {@link com.example.demo.utils.TextMaker}.</li>
+ *       {@link com.example.demo.utils.TextMaker} and the shared
+ *       {@link com.example.demo.utils.FontRegistry}.</li>
  * </ul>
  */
 package com.example.demo;
\ No newline at end of file
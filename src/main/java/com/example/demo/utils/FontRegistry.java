@@ -0,0 +1,116 @@
+package com.example.demo.utils;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.text.Font;
+
+/**
+ * Process-wide font cache, keyed by family and size.
+ *
+ * <p>The bundled retro font is read from its TTF resource once; after that,
+ * every size of it, and of any other family, is created once and shared.
+ * Scenes, overlays and cells ask the registry instead of loading fonts
+ * themselves, so restarts do no font I/O.</p>
+ *
+ * <p>{@link #preloadAsync(double...)} can be called at startup to do the
+ * resource loading off the FX thread. The registry is safe to use from any
+ * thread.</p>
+ *
+ * @since 1.1
+ */
+public final class FontRegistry {
+
+    /** Bundled fonts tried in order for {@link #retro(double)}. */
+    private static final String[] RETRO_CANDIDATES = {
+        "/com/example/demo/fonts/Orbitron-VariableFont_wght.ttf",
+        "/com/example/demo/fonts/VT323-Regular.ttf"
+    };
+
+    /** Family used when no bundled font can be loaded. */
+    private static final String FALLBACK_FAMILY = "Arial";
+
+    private record Key(String family, double size) {}
+
+    private static final Map<Key, Font> FONTS = new ConcurrentHashMap<>();
+
+    /** Family name of the loaded retro font; {@code null} until first use. */
+    private static volatile String retroFamily;
+
+    private FontRegistry() {
+    }
+
+    /**
+     * Returns the game's retro font (Orbitron, then VT323, then Arial) at a size.
+     *
+     * @param size font size in points
+     * @return a shared {@link Font}
+     */
+    public static Font retro(double size) {
+        return font(retroFamily(), size);
+    }
+
+    /**
+     * Returns a font of a registered or system family at a size.
+     *
+     * @param family font family name
+     * @param size   font size in points
+     * @return a shared {@link Font}
+     */
+    public static Font font(String family, double size) {
+        return FONTS.computeIfAbsent(new Key(family, size), k -> Font.font(k.family(), k.size()));
+    }
+
+    /**
+     * Loads the bundled font and the given sizes of it on a background thread.
+     *
+     * @param sizes retro font sizes to create ahead of time
+     * @return completes when the fonts are ready
+     */
+    public static CompletableFuture<Void> preloadAsync(double... sizes) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                for (double size : sizes) {
+                    retro(size);
+                }
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        }, "font-preload");
+        loader.setDaemon(true);
+        loader.start();
+        return done;
+    }
+
+    /**
+     * Resolves the retro family, reading the TTF resources the first time only.
+     *
+     * @return family name to pass to {@link Font#font(String, double)}
+     */
+    private static String retroFamily() {
+        String family = retroFamily;
+        if (family != null) return family;
+        synchronized (FontRegistry.class) {
+            if (retroFamily == null) {
+                retroFamily = loadRetroFamily();
+            }
+            return retroFamily;
+        }
+    }
+
+    private static String loadRetroFamily() {
+        for (String path : RETRO_CANDIDATES) {
+            try (InputStream is = FontRegistry.class.getResourceAsStream(path)) {
+                if (is != null) {
+                    Font f = Font.loadFont(is, 12);
+                    if (f != null) return f.getFamily();
+                }
+            } catch (Exception ignored) {}
+        }
+        return FALLBACK_FAMILY;
+    }
+}
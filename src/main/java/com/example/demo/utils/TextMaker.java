@@ -22,9 +22,8 @@ public class TextMaker {
 
     public Text madeText(String input, double xCell, double yCell, Group root) {
         double length = GameScene.getCellLength();
-        double fontSize = (3 * length) / 7.0;
         Text text = new Text(input);
-        text.setFont(Font.font(fontSize));
+        text.setFont(FontRegistry.font(Font.getDefault().getFamily(), (3 * length) / 7.0));
         text.relocate((xCell + (1.2) * length / 7.0), (yCell + 2 * length / 7.0));
         text.setFill(Color.WHITE);
         return text;
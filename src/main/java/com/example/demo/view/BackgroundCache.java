@@ -0,0 +1,67 @@
+package com.example.demo.view;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+
+/**
+ * Small LRU cache of decoded level backgrounds, keyed by level index.
+ *
+ * <p>Images are created with background loading, so the JPG is decoded off the
+ * FX thread and the view fills in when it is ready. A restart, a level change
+ * or a trip through the menu reuses the decoded image instead of reading the
+ * file again. At most {@code capacity} images are kept; the least recently
+ * used one is dropped first.</p>
+ *
+ * <p>Used from the FX thread only; not thread-safe.</p>
+ */
+final class BackgroundCache {
+
+    /** Background resource per level; levels past the end reuse the first one. */
+    private static final String[] LEVEL_BACKGROUNDS = {
+        "/com/example/demo/image/level1_bg.jpg",
+        "/com/example/demo/image/level2_bg.jpg",
+        "/com/example/demo/image/level3_bg.jpg"
+    };
+
+    private final Map<Integer, Image> images;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity maximum number of decoded images kept
+     */
+    BackgroundCache(int capacity) {
+        this.images = new LinkedHashMap<>(capacity + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the background of a level, starting a background load on first use.
+     * An image whose load failed is dropped and loaded again.
+     *
+     * @param level 0-based level index
+     * @return the (possibly still loading) image, or {@code null} if the resource is missing
+     */
+    Image get(int level) {
+        Image image = images.get(level);
+        if (image != null && !image.isError()) return image;
+
+        String path = LEVEL_BACKGROUNDS[level < LEVEL_BACKGROUNDS.length ? level : 0];
+        URL url = BackgroundCache.class.getResource(path);
+        if (url == null) {
+            System.err.println("[GameScene] Background not found: " + path);
+            images.remove(level);
+            return null;
+        }
+        image = new Image(url.toExternalForm(), true);
+        images.put(level, image);
+        return image;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.view;
+
+import com.example.demo.model.BoardModel;
+
+import javafx.scene.Node;
+
+/**
+ * Something that shows a {@link BoardModel} on screen.
+ *
+ * <p>Renderers never compute moves. They mirror the model once per frame by
+ * repainting the cells it marks dirty ({@link #render(BoardModel)}) or by
+ * copying the whole board with {@link #syncFrom(BoardModel)}. Two implementations exist:
+ * {@link BoardView} keeps a Rectangle and a Text node per cell, and
+ * {@link CanvasBoardRenderer} paints the whole board into one canvas.</p>
+ *
+ * <p>All methods are called on the FX thread.</p>
+ */
+public interface BoardRenderer {
+
+    /**
+     * Returns the single node to place in the scene.
+     *
+     * @return root node of the board
+     */
+    Node getNode();
+
+    /**
+     * Repaints the cells the model marks dirty whose shown value differs from
+     * the model. Does not clear the marks; the caller does that after the frame.
+     *
+     * @param model board to show
+     * @return number of cells actually repainted
+     */
+    int render(BoardModel model);
+
+    /**
+     * Copies every value from the model; used when the renderer is (re)attached.
+     *
+     * @param model board to show
+     */
+    void syncFrom(BoardModel model);
+
+    /**
+     * Empties the board so the renderer can be reused for a new game.
+     */
+    void clear();
+}
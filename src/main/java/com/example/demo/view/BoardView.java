@@ -0,0 +1,112 @@
+package com.example.demo.view;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Cell;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+/**
+ * Node-based view of the board: one {@link Cell} (rectangle + text) per grid cell.
+ *
+ * <p>The view never recomputes the board. Each frame it updates only the cells
+ * {@link BoardModel} marks dirty whose value changed; the other cells are not
+ * touched.</p>
+ *
+ * <p>All cells live in their own {@link Group} so the board can be placed in the
+ * scene as one unit. The nodes are created once per grid size and reused across
+ * games (see {@link #clear()}); steady-state play adds or removes no nodes.</p>
+ */
+public class BoardView implements BoardRenderer {
+
+    private final int size;
+    private final Cell[][] cells;
+    private final Group layer = new Group();
+
+    /**
+     * Builds the cell grid.
+     *
+     * @param size       board side length
+     * @param xOffset    x of the board's top-left corner
+     * @param yOffset    y of the board's top-left corner
+     * @param cellLength side of a single cell in pixels
+     * @param gap        spacing between cells in pixels
+     */
+    public BoardView(int size, double xOffset, double yOffset, double cellLength, double gap) {
+        this.size = size;
+        this.cells = new Cell[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                double x = xOffset + j * cellLength + (j + 1) * gap;
+                double y = yOffset + i * cellLength + (i + 1) * gap;
+                cells[i][j] = new Cell(x, y, cellLength, layer);
+            }
+        }
+    }
+
+    /**
+     * Returns the group holding every cell node.
+     *
+     * @return the board layer
+     */
+    @Override
+    public Node getNode() {
+        return layer;
+    }
+
+    /**
+     * Returns the cell at a grid position.
+     *
+     * @param row row index
+     * @param col column index
+     * @return the cell view
+     */
+    public Cell cellAt(int row, int col) {
+        return cells[row][col];
+    }
+
+    @Override
+    public int render(BoardModel model) {
+        int repainted = 0;
+        for (int i = model.nextDirty(0); i >= 0; i = model.nextDirty(i + 1)) {
+            Cell cell = cell(i);
+            int value = model.valueAt(i);
+            if (cell.getNumber() != value) {
+                cell.setNumber(value);
+                repainted++;
+            }
+        }
+        return repainted;
+    }
+
+    /**
+     * Copies every value from the model; used when the view is (re)attached.
+     *
+     * @param model board to show
+     */
+    @Override
+    public void syncFrom(BoardModel model) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i][j].setNumber(model.valueAt(i, j));
+            }
+        }
+    }
+
+    /**
+     * Empties every cell so the view can be reused for a new game. The nodes stay
+     * in the layer; only their values and colors change.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i][j].setNumber(0);
+            }
+        }
+    }
+
+    private Cell cell(int index) {
+        return cells[index / size][index % size];
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.view;
+
+import java.util.Arrays;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.TilePalette;
+import com.example.demo.utils.FontRegistry;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Board renderer that paints every tile into a single {@link Canvas}.
+ *
+ * <p>The scene graph holds one node for the whole board instead of a Rectangle
+ * and a Text per cell, so CSS, layout and bounds work per pulse no longer
+ * grows with the board. That matters most on the 10x10 level.</p>
+ *
+ * <p>The renderer keeps a copy of the exponents it shows. A frame repaints only
+ * dirty cells whose value differs from that copy; {@link #syncFrom(BoardModel)}
+ * repaints the whole grid in one pass. Tiles look the same as in {@link BoardView}: same
+ * palette, font and rounded corners.</p>
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+
+    private static final double ARC = 14;
+    private static final double STROKE_WIDTH = 1.25;
+    private static final Color STROKE = Color.rgb(255, 255, 255, 0.12);
+    private static final TilePalette PALETTE = TilePalette.standard();
+
+    /** Tile labels indexed by exponent. */
+    private static final String[] LABELS = new String[TilePalette.SIZE];
+    static {
+        for (int e = 1; e < LABELS.length; e++) {
+            LABELS[e] = Long.toString(1L << e);
+        }
+    }
+
+    private final int size;
+    private final double cellLength;
+    private final double gap;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final byte[] shown;
+
+    /**
+     * Creates the canvas and paints an empty board.
+     *
+     * @param size       board side length
+     * @param xOffset    x of the board's top-left corner
+     * @param yOffset    y of the board's top-left corner
+     * @param cellLength side of a single cell in pixels
+     * @param gap        spacing between cells in pixels
+     */
+    public CanvasBoardRenderer(int size, double xOffset, double yOffset, double cellLength, double gap) {
+        this.size = size;
+        this.cellLength = cellLength;
+        this.gap = gap;
+        this.shown = new byte[size * size];
+
+        double side = size * cellLength + (size + 1) * gap;
+        this.canvas = new Canvas(side, side);
+        canvas.setLayoutX(xOffset);
+        canvas.setLayoutY(yOffset);
+
+        this.gc = canvas.getGraphicsContext2D();
+        gc.setFont(FontRegistry.retro(Math.max(14, cellLength * 0.45)));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setStroke(STROKE);
+        gc.setLineWidth(STROKE_WIDTH);
+        repaintAll();
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public int render(BoardModel model) {
+        int repainted = 0;
+        for (int i = model.nextDirty(0); i >= 0; i = model.nextDirty(i + 1)) {
+            int exponent = model.exponentAt(i);
+            if (shown[i] != exponent) {
+                shown[i] = (byte) exponent;
+                paint(i);
+                repainted++;
+            }
+        }
+        return repainted;
+    }
+
+    @Override
+    public void syncFrom(BoardModel model) {
+        model.copyTo(shown);
+        repaintAll();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(shown, (byte) 0);
+        repaintAll();
+    }
+
+    private void repaintAll() {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < shown.length; i++) {
+            paint(i);
+        }
+    }
+
+    /**
+     * Repaints one cell from {@link #shown}.
+     *
+     * @param index flat cell index
+     */
+    private void paint(int index) {
+        double x = gap + (index % size) * (cellLength + gap);
+        double y = gap + (index / size) * (cellLength + gap);
+        int exponent = shown[index];
+
+        // the stroke extends half its width outside the tile
+        gc.clearRect(x - STROKE_WIDTH, y - STROKE_WIDTH, cellLength + 2 * STROKE_WIDTH, cellLength + 2 * STROKE_WIDTH);
+        gc.setFill(PALETTE.tileColor(exponent));
+        gc.fillRoundRect(x, y, cellLength, cellLength, ARC, ARC);
+        gc.strokeRoundRect(x, y, cellLength, cellLength, ARC, ARC);
+
+        if (exponent != 0) {
+            gc.setFill(PALETTE.textColor(exponent));
+            gc.fillText(LABELS[exponent], x + cellLength / 2, y + cellLength / 2);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.demo.view;
 
-import java.io.InputStream;
+import com.example.demo.utils.FontRegistry;
 
 import javafx.scene.Group;
 import javafx.scene.Scene;
@@ -44,28 +44,6 @@ public class EndGame {
         return singleInstance;
     }
 
-    /**
-     * Loads a retro-style font from bundled resources. Falls back to Arial if not found.
-     *
-     * @param size desired font size in points
-     * @return the loaded {@link Font} instance
-     */
-    private static Font loadRetroFont(double size) {
-        String[] candidates = {
-            "/com/example/demo/fonts/Orbitron-VariableFont_wght.ttf",
-            "/com/example/demo/fonts/VT323-Regular.ttf"
-        };
-        for (String path : candidates) {
-            try (InputStream is = EndGame.class.getResourceAsStream(path)) {
-                if (is != null) {
-                    Font f = Font.loadFont(is, size);
-                    if (f != null) return f;
-                }
-            } catch (Exception ignored) {}
-        }
-        return Font.font("Arial", size);
-    }
-
     /**
      * Displays the Game Over screen with default button actions:
      * <ul>
@@ -117,9 +95,9 @@ public class EndGame {
         root.getChildren().add(overlay);
 
         // Fonts
-        Font titleFont = loadRetroFont(72);
-        Font scoreFont = loadRetroFont(48);
-        Font buttonFont = loadRetroFont(20);
+        Font titleFont = FontRegistry.retro(72);
+        Font scoreFont = FontRegistry.retro(48);
+        Font buttonFont = FontRegistry.retro(20);
 
         // Game Over title
         Text gameOverText = new Text("GAME OVER");
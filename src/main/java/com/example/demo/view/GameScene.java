@@ -1,11 +1,23 @@
 package com.example.demo.view;
 
-import java.io.InputStream;
-import java.util.Random;
-
-import com.example.demo.model.Cell;
-import com.example.demo.utils.TextMaker;
-
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.demo.ai.AutoPlayer;
+import com.example.demo.ai.BoardEvaluator;
+import com.example.demo.ai.MovePolicy;
+import com.example.demo.ai.NTuplePolicy;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.Levels;
+import com.example.demo.model.ReplayRecorder;
+import com.example.demo.model.SpawnRng;
+import com.example.demo.utils.FontRegistry;
+
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleBinding;
@@ -18,7 +30,6 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Scale;
 import javafx.stage.Stage;
@@ -42,13 +53,6 @@ import javafx.stage.Stage;
  */
 public class GameScene {
 
-    // --- Level descriptors: {gridSize, targetTile} ---
-    private static final int[][] LEVELS = {
-        {4, 2048},
-        {8, 4096},
-        {10, 8192}
-    };
-
     private int levelIndex = 0;             // current level (0-based)
     private boolean won = false;            // prevents duplicate win overlays
     private static int gridSize = 4;
@@ -57,11 +61,34 @@ public class GameScene {
     private static final int DISTANCE_BETWEEN_CELLS = 10;
     private static double cellLength = calculateCellLength();
 
-    private final TextMaker textMaker = TextMaker.getSingleInstance();
-    private Cell[][] cells;
+    private BoardModel board;               // source of truth for tile values
+    private SpawnRng spawnRng;              // one per game session
+    private Long spawnSeed;                 // null = fresh unseeded session each game
+    private BoardRenderer renderer;         // view of the board
+    private boolean canvasRenderer = false; // single Canvas instead of per-cell nodes
+    private final Map<Integer, BoardRenderer> nodeRenderers = new HashMap<>();   // pooled per grid size
+    private final Map<Integer, BoardRenderer> canvasRenderers = new HashMap<>(); // pooled per grid size
+    private int unchangedTiles;             // cells the last frame did not touch (diagnostics)
+    private final InputQueue input = new InputQueue(); // moves waiting for the next frame
+    private AnimationTimer inputPump;       // drains the input queue once per pulse
     private Group root;
     private long score = 0;
+    private long shownScore = 0;            // value currently in scoreText
     private Text scoreText;
+    private Text hintText;                  // last hint, cleared by the next move
+    private HintService hints = new HintService();
+    private boolean speculativeHints = false; // precompute hints while the player thinks
+    private BoardEvaluator hintEvaluator;     // trained weights, or null for the heuristic
+    private AutoPlayer autoplay;              // bot playing on a worker thread, or null
+    private String autoplayPolicy = "expectimax";
+    private String autoplayPlaying = "";      // policy the running bot actually plays
+    private MovePolicy autoplayChooser;       // the running bot's policy, closed when it stops
+    private int autoplaySpeed = 3;            // index into AUTOPLAY_SPEEDS
+    private Text autoplayText;                // autoplay status, empty when off
+    private ReplayRecorder replays;           // archives every game, or null
+
+    /** Autoplay speeds selectable with {@code +} and {@code -}, in moves per second. */
+    private static final int[] AUTOPLAY_SPEEDS = {1, 2, 5, 10, 30, 60, 240, AutoPlayer.UNLIMITED};
 
     // Kept for clarity (refs to originals)
     private Scene gameScene;
@@ -79,8 +106,7 @@ public class GameScene {
     // Visuals
     private Group contentLayer;
     private ImageView bgView;
-    private Font titleFont;
-    private Font uiFont;
+    private static final BackgroundCache BACKGROUNDS = new BackgroundCache(Levels.count());
 
     // Base UI size for responsive scaling
     private static final double BASE_W = WIDTH;
@@ -149,9 +175,6 @@ public class GameScene {
         }
         this.root = contentLayer;
 
-        titleFont = loadRetroFont(48);
-        uiFont    = loadRetroFont(20);
-
         setupBackground(gameSceneRef, gameRootRef);
         setupResponsiveLayout(gameSceneRef);
 
@@ -160,21 +183,163 @@ public class GameScene {
         startGame();
 
         // Cosmetic color seed on the first cell; safe no-op if text is empty
-        cells[0][0].setColorByNumber(currentTargetTile());
+        if (renderer instanceof BoardView view) {
+            view.cellAt(0, 0).setColorByNumber(currentTargetTile());
+        }
 
         setupKeyHandlers(gameScene, primaryStage, endGameScene, endGameRoot);
     }
 
     /**
-     * Initiates a fresh board by spawning two cells.
+     * Fixes the spawn seed for every game started from now on, making the spawn
+     * sequence reproducible. Pass {@code null} to go back to unseeded sessions.
+     *
+     * @param seed spawn seed, or {@code null}
+     */
+    public void setSpawnSeed(Long seed) {
+        this.spawnSeed = seed;
+    }
+
+    /**
+     * Chooses how the board is drawn for every game started from now on:
+     * a single {@link CanvasBoardRenderer}, or one Rectangle and Text node per
+     * cell ({@link BoardView}, the default). The canvas keeps pulses cheap on
+     * large boards and slow machines.
+     *
+     * @param useCanvas {@code true} to paint the board into one canvas
+     */
+    public void setCanvasRenderer(boolean useCanvas) {
+        this.canvasRenderer = useCanvas;
+    }
+
+    /**
+     * Turns speculative hints on or off. When on, hints for the current position
+     * and for every position the next move can lead to are computed in the
+     * background after each move, so pressing {@code H} is usually answered at
+     * once.
+     *
+     * @param speculative {@code true} to precompute hints
+     */
+    public void setSpeculativeHints(boolean speculative) {
+        this.speculativeHints = speculative;
+        if (!speculative) hints.cancelSpeculation();
+    }
+
+    /**
+     * Replaces how hint searches score 4x4 positions, e.g. with a trained
+     * {@link com.example.demo.ai.NTupleNetwork}. Hints found so far are
+     * dropped. Call on the FX thread.
+     *
+     * @param evaluator evaluation of packed 4x4 boards, or {@code null} for the
+     *                  built-in heuristic
+     */
+    public void setHintEvaluator(BoardEvaluator evaluator) {
+        hintEvaluator = evaluator;
+        hints.close();
+        hints = new HintService(evaluator != null ? evaluator : BoardEvaluator.heuristic());
+        showHint("");
+    }
+
+    /**
+     * Chooses the strategy of the autoplay bot, used from the next time
+     * autoplay is turned on. On boards larger than 4x4, {@code expectimax} and
+     * {@code ntuple} play {@code montecarlo}, which the status text shows.
+     *
+     * @param policy a name accepted by {@link MovePolicy#create(String, long)},
+     *               or {@code ntuple} to play the weights given to
+     *               {@link #setHintEvaluator(BoardEvaluator)}
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public void setAutoplayPolicy(String policy) {
+        if (!"ntuple".equals(policy)) MovePolicy.create(policy, 0).close(); // fail fast on an unknown name
+        this.autoplayPolicy = policy;
+    }
+
+    /**
+     * Turns autoplay on or off. While it is on, a worker thread plays with the
+     * chosen policy, the board shows the newest position once per pulse, and
+     * arrow keys and hints are ignored. Turning it off hands the position back
+     * to the player. Call on the FX thread.
+     *
+     * @param on {@code true} to let the bot play
+     */
+    public void setAutoplay(boolean on) {
+        if (on && autoplay == null && board != null) {
+            startAutoplay();
+        } else if (!on) {
+            stopAutoplay();
+        }
+    }
+
+    /**
+     * Records every game started from now on, including the moves of the
+     * autoplay bot.
+     *
+     * @param recorder replay log, or {@code null} to stop recording
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.replays = recorder;
+    }
+
+    /**
+     * Stops background work before the application exits: the autoplay bot,
+     * hint searches, and the replay log, which is flushed to disk.
+     */
+    public void shutdown() {
+        discardAutoplay();
+        hints.close();
+        if (replays != null) {
+            try {
+                replays.close();
+            } catch (IOException e) {
+                System.err.println("[GameScene] Could not close replay log: " + e.getMessage());
+            }
+            replays = null;
+        }
+    }
+
+    /**
+     * Returns whether the bot is playing.
+     *
+     * @return {@code true} while autoplay is on
+     */
+    public boolean isAutoplaying() {
+        return autoplay != null;
+    }
+
+    /**
+     * Returns the fraction of hint requests answered from the hint cache, for
+     * diagnostics.
+     *
+     * @return hint cache hit rate in {@code [0, 1]}
+     */
+    public double getHintHitRate() {
+        return hints.cache().hitRate();
+    }
+
+    /**
+     * Initiates a fresh board by spawning two cells from a new spawn session.
      */
     private void startGame() {
-        fillRandomCell(1);
-        fillRandomCell(1);
+        discardAutoplay(); // the bot's game is over; it must release the old generator first
+        spawnRng = (spawnSeed != null) ? new SpawnRng(spawnSeed) : new SpawnRng();
+        if (replays != null) replays.startGame(levelIndex, spawnRng);
+        input.clear();
+        hints.invalidate();
+        showHint("");
+        fillRandomCell();
+        fillRandomCell();
+        renderFrame();
+        speculate();
     }
 
     /**
-     * Installs key handlers for movement and post-move state updates.
+     * Installs key handlers that queue moves, and the per-frame timer that
+     * applies them.
+     *
+     * <p>Key events only append to the bounded {@link InputQueue}. Once per
+     * pulse the timer applies every queued move back-to-back against the model
+     * and renders once, so holding an arrow key no longer floods the FX thread.</p>
      *
      * @param gameScene    the scene listening for key presses
      * @param primaryStage the main stage
@@ -183,40 +348,241 @@ public class GameScene {
      */
     private void setupKeyHandlers(Scene gameScene, Stage primaryStage,
                                   Scene endGameScene, Group endGameRoot) {
-        gameScene.addEventHandler(KeyEvent.KEY_PRESSED, key -> {
-            Platform.runLater(() -> {
-                handleKeyPress(key.getCode());
-                updateGameState(primaryStage, endGameScene, endGameRoot);
-            });
-        });
+        gameScene.addEventHandler(KeyEvent.KEY_PRESSED, key -> handleKeyPress(key.getCode()));
+
+        if (inputPump != null) inputPump.stop();
+        inputPump = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (autoplay != null) {
+                    showAutoplayFrame(primaryStage, endGameScene, endGameRoot);
+                } else {
+                    drainInput(primaryStage, endGameScene, endGameRoot);
+                }
+            }
+        };
+        inputPump.start();
     }
 
     /**
-     * Handles arrow-key input by invoking the corresponding move method.
+     * Handles arrow-key input by queueing the corresponding move; {@code H}
+     * asks for a hint. {@code A} toggles autoplay, and {@code +} and {@code -}
+     * change its speed. During autoplay only the autoplay keys are handled.
      *
      * @param code the pressed {@link KeyCode}
      */
     private void handleKeyPress(KeyCode code) {
         switch (code) {
-            case DOWN -> moveDown();
-            case UP -> moveUp();
-            case LEFT -> moveLeft();
-            case RIGHT -> moveRight();
+            case A -> setAutoplay(autoplay == null);
+            case EQUALS, ADD -> changeAutoplaySpeed(1);
+            case MINUS, SUBTRACT -> changeAutoplaySpeed(-1);
+            default -> {
+                if (autoplay == null) handleMoveKey(code);
+            }
+        }
+    }
+
+    private void handleMoveKey(KeyCode code) {
+        switch (code) {
+            case DOWN -> input.offer(Direction.DOWN);
+            case UP -> input.offer(Direction.UP);
+            case LEFT -> input.offer(Direction.LEFT);
+            case RIGHT -> input.offer(Direction.RIGHT);
+            case H -> requestHint();
             default -> {}
         }
     }
 
     /**
-     * Re-evaluates the game state after a move:
+     * Applies all queued moves, then renders once. A move that changes nothing
+     * also discards the identical moves queued right behind it, since they
+     * would change nothing either. Queued input is dropped when the game ends
+     * or is won.
+     *
+     * @param primaryStage main stage
+     * @param endGameScene overlay scene
+     * @param endGameRoot  overlay root group
+     */
+    private void drainInput(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
+        boolean changed = false;
+        Direction dir;
+        while ((dir = input.poll()) != null) {
+            if (!applyMove(dir)) {
+                input.skip(dir);
+                continue;
+            }
+            if (!updateGameState(primaryStage, endGameScene, endGameRoot)) {
+                input.clear();
+                return;
+            }
+            changed = true;
+        }
+        if (changed) {
+            renderFrame();
+            speculate();
+        }
+    }
+
+    /**
+     * Shows the newest position published by the autoplay bot, if any. Positions
+     * the bot went through since the previous pulse are never shown, so the
+     * display keeps its frame rate at any speed. Only the cells that differ
+     * from the board are written, so the renderer repaints just those. When
+     * the bot's game is over, the position is handed back and the usual win or
+     * end overlay is shown.
+     *
+     * @param primaryStage main stage
+     * @param endGameScene overlay scene
+     * @param endGameRoot  overlay root group
+     */
+    private void showAutoplayFrame(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
+        AutoPlayer.Frame frame = autoplay.poll();
+        if (frame == null) return;
+        boolean finished = frame.finished();
+        byte[] cells = frame.cells();
+        for (int i = 0; i < cells.length; i++) {
+            if (board.exponentAt(i) != cells[i]) board.setExponent(i, cells[i]);
+        }
+        score = frame.score();
+        autoplay.recycle(frame);
+        if (!finished) {
+            renderFrame();
+            return;
+        }
+
+        stopAutoplay();
+        if (!won && reachedTarget()) {
+            won = true;
+            showWin(primaryStage, endGameScene, endGameRoot);
+        } else if (!board.canMove()) {
+            endGame(primaryStage, endGameScene, endGameRoot);
+        }
+    }
+
+    /**
+     * Hands the current position, score and spawn generator to a new
+     * {@link AutoPlayer}. It stops by itself at the level's target tile unless
+     * the level is already won.
+     */
+    private void startAutoplay() {
+        input.clear();
+        hints.invalidate();
+        hints.cancelSpeculation();
+        showHint("");
+        int stopExponent = won ? Integer.MAX_VALUE : BitBoardEngine.toExponent(currentTargetTile());
+        autoplayChooser = createAutoplayPolicy();
+        autoplay = new AutoPlayer(board, score, autoplayChooser, spawnRng,
+            stopExponent, AUTOPLAY_SPEEDS[autoplaySpeed]);
+        ReplayRecorder recorder = replays;
+        if (recorder != null) {
+            // the bot owns the game until stop() joins it, so it records its own moves
+            autoplay.setMoveListener((dir, b, spawned) -> {
+                recorder.move(dir);
+                recorder.spawn(b, spawned);
+            });
+        }
+        autoplay.start();
+        showAutoplayStatus();
+    }
+
+    /**
+     * Stops the bot and takes its position back, including the order of empty
+     * cells, so later spawns land where they would have for the bot.
+     */
+    private void stopAutoplay() {
+        if (autoplay == null) return;
+        autoplay.stop();
+        board.copyFrom(autoplay.board());
+        score = autoplay.score();
+        autoplay = null;
+        closeAutoplayChooser();
+        renderer.syncFrom(board);
+        board.clearDirty();
+        updateScoreDisplay();
+        showAutoplayStatus();
+        speculate();
+    }
+
+    /**
+     * Stops the bot without taking its position, e.g. when a new game starts.
+     */
+    private void discardAutoplay() {
+        if (autoplay == null) return;
+        autoplay.stop();
+        autoplay = null;
+        closeAutoplayChooser();
+        showAutoplayStatus();
+    }
+
+    /**
+     * Releases the stopped bot's policy, e.g. the threads of Monte Carlo playouts.
+     */
+    private void closeAutoplayChooser() {
+        autoplayChooser.close();
+        autoplayChooser = null;
+    }
+
+    /**
+     * Creates the bot's policy for the current level. The n-tuple and
+     * expectimax policies only search the 4x4 board and would play greedy on
+     * larger ones, so those levels use Monte Carlo playouts instead. The name
+     * actually played is kept for the status text.
+     *
+     * @return a new policy for the bot
+     */
+    private MovePolicy createAutoplayPolicy() {
+        boolean packed = board.size() == BitBoardEngine.SIZE;
+        String name = autoplayPolicy;
+        if ("ntuple".equals(name)) {
+            if (packed && hintEvaluator != null) {
+                autoplayPlaying = name;
+                return new NTuplePolicy(hintEvaluator);
+            }
+            if (packed) System.err.println("[GameScene] No n-tuple weights loaded; autoplay uses expectimax");
+            name = "expectimax";
+        }
+        if ("expectimax".equals(name) && !packed) name = "montecarlo";
+        autoplayPlaying = name;
+        return MovePolicy.create(name, System.nanoTime());
+    }
+
+    /**
+     * Moves the autoplay speed one step up or down, also while the bot plays.
+     *
+     * @param step {@code 1} for faster, {@code -1} for slower
+     */
+    private void changeAutoplaySpeed(int step) {
+        autoplaySpeed = Math.max(0, Math.min(AUTOPLAY_SPEEDS.length - 1, autoplaySpeed + step));
+        if (autoplay != null) autoplay.setMovesPerSecond(AUTOPLAY_SPEEDS[autoplaySpeed]);
+        showAutoplayStatus();
+    }
+
+    private void showAutoplayStatus() {
+        if (autoplayText == null) return;
+        if (autoplay == null) {
+            autoplayText.setText("");
+            return;
+        }
+        int speed = AUTOPLAY_SPEEDS[autoplaySpeed];
+        autoplayText.setText("AUTO " + autoplayPlaying.toUpperCase(Locale.ROOT) + " "
+            + (speed == AutoPlayer.UNLIMITED ? "MAX" : speed + "/S"));
+    }
+
+    /**
+     * Re-evaluates the game state after a move that changed the board:
      * <ul>
      *   <li>Show win overlay if target tile reached</li>
      *   <li>Spawn a new random tile if empty space exists</li>
      *   <li>Show game over if no moves remain</li>
      * </ul>
+     * Moves that change nothing never get here, so they neither spawn nor
+     * touch the scene graph. The board is rendered before an overlay is shown;
+     * otherwise the caller renders once all queued moves are applied.
      *
      * @param primaryStage main stage
      * @param endGameScene overlay scene
      * @param endGameRoot  overlay root group
+     * @return {@code true} if play continues, {@code false} if an overlay took over
      */
 
      /**
@@ -226,31 +592,24 @@ public class GameScene {
  * @return {@code true} if target tile is reached; {@code false} otherwise
  */
     private boolean reachedTarget() {
-        int target = currentTargetTile();
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (cells[i][j].getNumber() >= target) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return board.maxExponent() >= BitBoardEngine.toExponent(currentTargetTile());
     }
 
-    private void updateGameState(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
+    private boolean updateGameState(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
         if (!won && reachedTarget()) {
             won = true;
+            renderFrame();
             showWin(primaryStage, endGameScene, endGameRoot);
-            return;
+            return false;
         }
 
-        int emptyCellStatus = checkEmptyCells();
-
-        if (emptyCellStatus == -1 && canNotMove()) {
+        fillRandomCell();
+        if (!board.canMove()) {
+            renderFrame();
             endGame(primaryStage, endGameScene, endGameRoot);
-        } else if (emptyCellStatus == 1) {
-            fillRandomCell(2);
+            return false;
         }
+        return true;
     }
 
     /**
@@ -261,6 +620,7 @@ public class GameScene {
      * @param endGameRoot  overlay root
      */
     private void endGame(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
+        if (replays != null) replays.endGame();
         primaryStage.setScene(endGameScene);
 
         EndGame.getInstance().endGameShow(
@@ -311,48 +671,95 @@ public class GameScene {
      * Performs a left move and merges compatible tiles.
      */
     public void moveLeft() {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 1; j < gridSize; j++) {
-                moveHorizontally(i, j, calculateDestination(i, j, 'l'), -1);
-            }
-            resetModifyFlags(i);
-        }
+        if (applyMove(Direction.LEFT)) renderFrame();
     }
 
     /**
      * Performs a right move and merges compatible tiles.
      */
     public void moveRight() {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = gridSize - 1; j >= 0; j--) {
-                moveHorizontally(i, j, calculateDestination(i, j, 'r'), 1);
-            }
-            resetModifyFlags(i);
-        }
+        if (applyMove(Direction.RIGHT)) renderFrame();
     }
 
     /**
      * Performs an upward move and merges compatible tiles.
      */
     public void moveUp() {
-        for (int j = 0; j < gridSize; j++) {
-            for (int i = 1; i < gridSize; i++) {
-                moveVertically(i, j, calculateDestination(i, j, 'u'), -1);
-            }
-            resetVerticalModifyFlags(j);
-        }
+        if (applyMove(Direction.UP)) renderFrame();
     }
 
     /**
      * Performs a downward move and merges compatible tiles.
      */
     public void moveDown() {
-        for (int j = 0; j < gridSize; j++) {
-            for (int i = gridSize - 1; i >= 0; i--) {
-                moveVertically(i, j, calculateDestination(i, j, 'd'), 1);
-            }
-            resetVerticalModifyFlags(j);
-        }
+        if (applyMove(Direction.DOWN)) renderFrame();
+    }
+
+    /**
+     * Applies a move to the {@link BoardModel} and adds the move's score, counted
+     * once by the engine. Board and score are redrawn by the next
+     * {@link #renderFrame()}.
+     *
+     * @param dir move direction
+     * @return {@code true} if the board changed
+     */
+    private boolean applyMove(Direction dir) {
+        int gained = board.move(dir);
+        if (gained < 0) return false;
+
+        score += gained;
+        if (replays != null) replays.move(dir);
+        hints.invalidate();
+        showHint("");
+        return true;
+    }
+
+    /**
+     * Asks the {@link HintService} for the best move in the current position.
+     * The hint is shown as soon as the first estimate is ready and updated as
+     * the search refines it, together with the depth or playouts reached, so
+     * the per-level budget in {@link Levels} can be tuned.
+     */
+    private void requestHint() {
+        showHint("THINKING...");
+        hints.request(board, Levels.hintBudgetMillis(levelIndex), hint -> showHint(
+            hint.move() == null ? "NO MOVES" : "HINT: " + hint.move() + " (" + hint.basis() + ")"));
+    }
+
+    /**
+     * Starts precomputing hints for the position on screen, if enabled.
+     */
+    private void speculate() {
+        if (speculativeHints) hints.speculate(board, spawnRng, Levels.hintBudgetMillis(levelIndex));
+    }
+
+    /**
+     * Replaces the hint line under the score box.
+     *
+     * @param text hint to show, or an empty string to hide it
+     */
+    private void showHint(String text) {
+        if (hintText != null) hintText.setText(text);
+    }
+
+    /**
+     * Draws the current model: the renderer repaints only the cells marked
+     * dirty since the previous frame, then the marks are cleared. The score
+     * text is updated at most once per frame.
+     */
+    private void renderFrame() {
+        unchangedTiles = board.cellCount() - renderer.render(board);
+        board.clearDirty();
+        updateScoreDisplay();
+    }
+
+    /**
+     * Returns how many cells the last frame did not repaint, for diagnostics.
+     *
+     * @return unchanged tile count of the last rendered frame
+     */
+    public int getUnchangedTiles() {
+        return unchangedTiles;
     }
 
     // ----------------- UI / Layout helpers -----------------
@@ -389,41 +796,40 @@ public class GameScene {
     }
 
     /**
-     * Updates the on-screen score text (if present).
+     * Updates the on-screen score text (if present) when the score differs from
+     * what it shows.
      */
     private void updateScoreDisplay() {
-        if (scoreText != null) {
+        if (scoreText != null && score != shownScore) {
             scoreText.setText(String.valueOf(score));
+            shownScore = score;
         }
     }
 
     // ----------------- Board / cells -----------------
 
     /**
-     * Allocates and positions the grid of {@link Cell} objects.
-     * Also registers a merge callback to accumulate score.
+     * Creates an empty {@link BoardModel} for the current level and attaches the
+     * {@link BoardRenderer} that displays it. Renderers are pooled per grid size,
+     * so a restart or a return to an earlier level reuses the existing nodes.
      */
     private void initializeCells() {
         gridSize = currentGridSize();
         cellLength = calculateCellLength();
 
-        cells = new Cell[gridSize][gridSize];
+        board = new BoardModel(gridSize);
         double xOffset = 50;
         double scaledCellLength = (gridSize <= 4) ? cellLength * 0.75 : cellLength;
         double yOffset = 180;
 
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                double x = xOffset + j * scaledCellLength + (j + 1) * DISTANCE_BETWEEN_CELLS;
-                double y = yOffset + i * scaledCellLength + (i + 1) * DISTANCE_BETWEEN_CELLS;
-
-                cells[i][j] = new Cell(x, y, scaledCellLength, root);
-
-                cells[i][j].setScoreCallback(mergedValue -> {
-                    score += mergedValue;
-                    updateScoreDisplay();
-                });
-            }
+        renderer = canvasRenderer
+            ? canvasRenderers.computeIfAbsent(gridSize,
+                n -> new CanvasBoardRenderer(n, xOffset, yOffset, scaledCellLength, DISTANCE_BETWEEN_CELLS))
+            : nodeRenderers.computeIfAbsent(gridSize,
+                n -> new BoardView(n, xOffset, yOffset, scaledCellLength, DISTANCE_BETWEEN_CELLS));
+        renderer.clear();
+        if (renderer.getNode().getParent() != root) {
+            root.getChildren().add(renderer.getNode());
         }
     }
 
@@ -434,7 +840,7 @@ public class GameScene {
     private void setupScoreDisplay() {
         // Title
         Text title = new Text("Crack 2048");
-        title.setFont(titleFont != null ? titleFont : loadRetroFont(48));
+        title.setFont(FontRegistry.retro(48));
         title.setFill(Color.rgb(255, 253, 251));
         title.applyCss();
         double titleX = (BASE_W - title.getLayoutBounds().getWidth()) / 2.0;
@@ -456,19 +862,35 @@ public class GameScene {
         root.getChildren().add(scoreBox);
 
         Text scoreLabel = new Text("SCORE");
-        scoreLabel.setFont(uiFont != null ? uiFont : loadRetroFont(20));
+        scoreLabel.setFont(FontRegistry.retro(20));
         scoreLabel.setFill(Color.rgb(238, 228, 218));
         scoreLabel.setX(boxX + 20);
         scoreLabel.setY(boxY + 25);
         root.getChildren().add(scoreLabel);
 
         scoreText = new Text("0");
-        scoreText.setFont(loadRetroFont(24));
+        shownScore = 0;
+        scoreText.setFont(FontRegistry.retro(24));
         scoreText.setFill(Color.WHITE);
         scoreText.setX(boxX + 35);
         scoreText.setY(boxY + 55);
         root.getChildren().add(scoreText);
 
+        hintText = new Text("");
+        hintText.setFont(FontRegistry.retro(20));
+        hintText.setFill(Color.WHITE);
+        hintText.setX(boxX - 260); // room for "HINT: RIGHT (100000 PLAYOUTS)"
+        hintText.setY(boxY + boxH + 30);
+        root.getChildren().add(hintText);
+
+        autoplayText = new Text("");
+        autoplayText.setFont(FontRegistry.retro(20));
+        autoplayText.setFill(Color.WHITE);
+        autoplayText.setX(boxX - 260);
+        autoplayText.setY(boxY + boxH + 55);
+        root.getChildren().add(autoplayText);
+        showAutoplayStatus();
+
         // Right-side labels acting as buttons
         double buttonWidth = 130;
         double buttonHeight = 80;
@@ -486,7 +908,7 @@ public class GameScene {
         root.getChildren().add(restartBox);
 
         Text restartText = new Text("RESTART");
-        restartText.setFont(uiFont != null ? uiFont : loadRetroFont(20));
+        restartText.setFont(FontRegistry.retro(20));
         restartText.setFill(Color.WHITE);
         restartText.setX(startX + 20);
         restartText.setY(yBottom + 2 * (buttonHeight + spacing) + 50);
@@ -513,13 +935,14 @@ public class GameScene {
         root.getChildren().add(menuBox);
 
         Text menuText = new Text("MAIN MENU");
-        menuText.setFont(uiFont != null ? uiFont : loadRetroFont(20));
+        menuText.setFont(FontRegistry.retro(20));
         menuText.setFill(Color.WHITE);
         menuText.setX(startX + 10);
         menuText.setY(yBottom + (buttonHeight + spacing) + 50);
         root.getChildren().add(menuText);
 
         menuText.setOnMouseClicked(event -> {
+            discardAutoplay();
             contentLayer.getChildren().clear();
 
             // Fallbacks so tests or callers without a menu still work
@@ -565,183 +988,41 @@ public class GameScene {
         root.getChildren().add(quitBox);
 
         Text quitText = new Text("QUIT GAME");
-        quitText.setFont(uiFont != null ? uiFont : loadRetroFont(20));
+        quitText.setFont(FontRegistry.retro(20));
         quitText.setFill(Color.WHITE);
         quitText.setX(startX + 10);
         quitText.setY(yBottom + 50);
         root.getChildren().add(quitText);
 
         quitText.setOnMouseClicked(event -> Platform.exit());
-    }
-
-    // ----------------- Movement primitives -----------------
 
-    private void resetModifyFlags(int row) {
-        for (int j = 0; j < gridSize; j++) {
-            cells[row][j].setModify(false);
-        }
+        // Keep the board above the panels; its texts follow the score in traversal order
+        if (renderer != null) renderer.getNode().toFront();
     }
 
-    private void resetVerticalModifyFlags(int col) {
-        for (int i = 0; i < gridSize; i++) {
-            cells[i][col].setModify(false);
-        }
-    }
+    // ----------------- Spawning -----------------
 
-    private boolean isValidHorizontalMove(int i, int j, int des, int sign) {
-        return des + sign < gridSize && des + sign >= 0
-            && cells[i][des + sign].getNumber() == cells[i][j].getNumber()
-            && !cells[i][des + sign].getModify()
-            && cells[i][des + sign].getNumber() != 0;
-    }
-
-    private void moveHorizontally(int i, int j, int des, int sign) {
-        if (isValidHorizontalMove(i, j, des, sign)) {
-            int mergedValue = cells[i][j].getNumber() + cells[i][des + sign].getNumber();
-            cells[i][j].adder(cells[i][des + sign]);
-            score += mergedValue;
-            updateScoreDisplay();
-            cells[i][des].setModify(true);
-        } else if (des != j) {
-            cells[i][j].changeCell(cells[i][des]);
-        }
-    }
-
-    private boolean isValidVerticalMove(int i, int j, int des, int sign) {
-        return des + sign < gridSize && des + sign >= 0
-            && cells[des + sign][j].getNumber() == cells[i][j].getNumber()
-            && !cells[des + sign][j].getModify()
-            && cells[des + sign][j].getNumber() != 0;
-    }
-
-    private void moveVertically(int i, int j, int des, int sign) {
-        if (isValidVerticalMove(i, j, des, sign)) {
-            int mergedValue = cells[i][j].getNumber() + cells[des + sign][j].getNumber();
-            cells[i][j].adder(cells[des + sign][j]);
-            score += mergedValue;
-            updateScoreDisplay();
-            cells[des][j].setModify(true);
-        } else if (des != i) {
-            cells[i][j].changeCell(cells[des][j]);
-        }
-    }
-
-    private boolean hasSameNeighbor(int i, int j) {
-        return (i < gridSize - 1 && cells[i + 1][j].getNumber() == cells[i][j].getNumber())
-            || (j < gridSize - 1 && cells[i][j + 1].getNumber() == cells[i][j].getNumber());
-    }
-
-    private boolean canNotMove() {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (hasSameNeighbor(i, j)) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private void fillRandomCell(int turn) {
-        Cell randomCell = findRandomEmptyCell();
-        if (randomCell == null) return;
-
-        boolean putTwo = new Random().nextBoolean();
-        int number = putTwo ? 2 : 4;
-
-        Text text = textMaker.madeText(
-            String.valueOf(number),
-            randomCell.getX(),
-            randomCell.getY(),
-            root
-        );
-
-        randomCell.setTextClass(text);
-        root.getChildren().add(text);
-        randomCell.setColorByNumber(number);
-    }
-
-    private Cell findRandomEmptyCell() {
-        Cell[] emptyCells = new Cell[gridSize * gridSize];
-        int count = 0;
-
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (cells[i][j].getNumber() == 0) {
-                    emptyCells[count++] = cells[i][j];
-                }
-                if (cells[i][j].getNumber() == 2048) {
-                    return null;
-                }
-            }
-        }
-
-        if (count == 0) return null;
-        return emptyCells[new Random().nextInt(count)];
-    }
-
-    private int checkEmptyCells() {
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (cells[i][j].getNumber() == 0) return 1;
-                if (cells[i][j].getNumber() == 2048) return 0;
-            }
-        }
-        return -1;
-    }
-
-    // ----------------- Navigation helpers -----------------
-
-    private int calculateDestination(int i, int j, char direction) {
-        return switch (direction) {
-            case 'l' -> calculateLeftDestination(i, j);
-            case 'r' -> calculateRightDestination(i, j);
-            case 'u' -> calculateUpDestination(i, j);
-            case 'd' -> calculateDownDestination(i, j);
-            default -> -1;
-        };
-    }
-
-    private int calculateLeftDestination(int i, int j) {
-        for (int k = j - 1; k >= 0; k--) {
-            if (cells[i][k].getNumber() != 0) return k + 1;
-        }
-        return 0;
-    }
-
-    private int calculateRightDestination(int i, int j) {
-        for (int k = j + 1; k < gridSize; k++) {
-            if (cells[i][k].getNumber() != 0) return k - 1;
-        }
-        return gridSize - 1;
-    }
-
-    private int calculateUpDestination(int i, int j) {
-        for (int k = i - 1; k >= 0; k--) {
-            if (cells[k][j].getNumber() != 0) return k + 1;
-        }
-        return 0;
-    }
-
-    private int calculateDownDestination(int i, int j) {
-        for (int k = i + 1; k < gridSize; k++) {
-            if (cells[k][j].getNumber() != 0) return k - 1;
-        }
-        return gridSize - 1;
+    /**
+     * Places a 2 or a 4 on a random empty cell of the model, using the session's
+     * {@link SpawnRng}; it is shown by the next {@link #renderFrame()}.
+     */
+    private void fillRandomCell() {
+        int index = board.spawn(spawnRng);
+        if (replays != null && index >= 0) replays.spawn(board, index);
     }
 
     // ----------------- Level helpers & visuals -----------------
 
     private int currentGridSize() {
-        return LEVELS[levelIndex][0];
+        return Levels.gridSize(levelIndex);
     }
 
     private int currentTargetTile() {
-        return LEVELS[levelIndex][1];
+        return Levels.targetTile(levelIndex);
     }
 
     private boolean isLastLevel() {
-        return levelIndex >= LEVELS.length - 1;
+        return levelIndex >= Levels.count() - 1;
     }
 
     /**
@@ -752,6 +1033,7 @@ public class GameScene {
      * @param endGameRoot  overlay root
      */
     private void showWin(Stage primaryStage, Scene endGameScene, Group endGameRoot) {
+        if (replays != null) replays.endGame();
         WinGame.getInstance().winGameShow(
             endGameScene, endGameRoot, primaryStage, score,
             // onNextLevel:
@@ -793,43 +1075,16 @@ public class GameScene {
         );
     }
 
-    /**
-     * Loads a bundled retro font, falling back to Arial if the font cannot be found.
-     *
-     * @param size font size in points
-     * @return a loaded {@link Font}
-     */
-    private static Font loadRetroFont(double size) {
-        String[] candidates = {
-            "/com/example/demo/fonts/Orbitron-VariableFont_wght.ttf",
-            "/com/example/demo/fonts/VT323-Regular.ttf"
-        };
-        for (String path : candidates) {
-            try (InputStream is = GameScene.class.getResourceAsStream(path)) {
-                if (is != null) {
-                    Font f = Font.loadFont(is, size);
-                    if (f != null) return f;
-                }
-            } catch (Exception ignored) {}
-        }
-        return Font.font("Arial", size);
-    }
-
     /**
      * Sets the background image appropriate to the current level and ensures
-     * it sits underneath the scaled content layer.
+     * it sits underneath the scaled content layer. Images come from a shared
+     * {@link BackgroundCache}, so restarts and menu round-trips do not decode
+     * the same file again.
      *
      * @param scene    scene to bind background size to
      * @param baseRoot base root that owns the background node
      */
     private void setupBackground(Scene scene, Group baseRoot) {
-        final String bgPath = switch (currentGridSize()) {
-            case 4  -> "/com/example/demo/image/level1_bg.jpg";
-            case 8  -> "/com/example/demo/image/level2_bg.jpg";
-            case 10 -> "/com/example/demo/image/level3_bg.jpg";
-            default -> "/com/example/demo/image/level1_bg.jpg";
-        };
-
         if (bgView == null) {
             bgView = new ImageView();
             bgView.setPreserveRatio(false);
@@ -837,17 +1092,16 @@ public class GameScene {
             bgView.fitHeightProperty().bind(scene.heightProperty());
             baseRoot.getChildren().add(0, bgView); // bottom-most
         } else if (bgView.getParent() != baseRoot) {
-            ((Group) bgView.getParent()).getChildren().remove(bgView);
+            if (bgView.getParent() instanceof Group oldParent) {
+                oldParent.getChildren().remove(bgView);
+            }
             baseRoot.getChildren().add(0, bgView);
         }
 
-        var url = getClass().getResource(bgPath);
-        if (url == null) {
-            System.err.println("[GameScene] Background not found: " + bgPath);
-            return;
+        Image image = BACKGROUNDS.get(levelIndex);
+        if (image != null && bgView.getImage() != image) {
+            bgView.setImage(image);
         }
-        bgView.setImage(new Image(url.toExternalForm()));
-        System.out.println("[GameScene] Background set: " + bgPath);
     }
 
     // ----------------- statics -----------------
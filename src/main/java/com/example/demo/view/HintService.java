@@ -0,0 +1,265 @@
+package com.example.demo.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import com.example.demo.ai.BoardEvaluator;
+import com.example.demo.ai.Expectimax;
+import com.example.demo.ai.GridExpectimax;
+import com.example.demo.ai.HintCache;
+import com.example.demo.ai.MonteCarlo;
+import com.example.demo.ai.ParallelExpectimax;
+import com.example.demo.ai.SearchControl;
+import com.example.demo.ai.SharedTranspositionTable;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+import javafx.application.Platform;
+
+/**
+ * Runs hint searches in the background.
+ *
+ * <p>{@link #request(BoardModel, long, Consumer)} snapshots the board on the FX
+ * thread and hands the copy to a single daemon worker, so the pulse never
+ * waits on the search. The 4x4 board is searched by {@link ParallelExpectimax}
+ * on every core, the 8x8 board by {@link GridExpectimax}. Both deepen until
+ * the time budget runs out, and every completed depth is posted back to the
+ * FX thread right away. From {@link #MONTE_CARLO_MIN_SIZE} up, spawns branch
+ * too widely for expectimax, so {@link MonteCarlo} playouts rank the moves
+ * instead, posting the estimate after each wave of playouts. Either way a
+ * first hint shows up within a few milliseconds and is refined while time
+ * remains.</p>
+ *
+ * <p>When the board moves on ({@link #invalidate()}) the running search is
+ * cancelled, and whatever it still posts is dropped rather than shown.</p>
+ *
+ * <p>{@link #speculate(BoardModel, SpawnRng, long)} uses the time the player
+ * spends thinking. A low-priority thread searches the current position and
+ * then the four positions the next move can lead to. Those are exact, since
+ * the spawn that follows the move is already known from
+ * {@link SpawnRng#peekDecision()}. Finished results go into a
+ * {@link HintCache} keyed by board hash, and a request for a cached position
+ * is answered at once. {@link #cache()} exposes the hit rate. Monte Carlo
+ * hints are not speculated.</p>
+ *
+ * <p>The 4x4 searches score their leaves with a {@link BoardEvaluator}: the
+ * hand-written heuristic by default, or trained n-tuple weights.</p>
+ */
+final class HintService {
+
+    /** Deepest search attempted when the budget allows. */
+    static final int MAX_DEPTH = 8;
+    /** Speculative searches may run this many times the level's hint budget. */
+    static final int SPECULATION_FACTOR = 4;
+    /** Smallest grid size hinted by Monte Carlo playouts rather than expectimax. */
+    static final int MONTE_CARLO_MIN_SIZE = 10;
+    /** Upper bound on playouts per move; the budget normally ends the run first. */
+    static final int MAX_PLAYOUTS = 1 << 20;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hint-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService speculator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hint-speculate");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    // used by the worker only
+    private final ParallelExpectimax packedSearch;
+    private final GridExpectimax gridSearch;
+    private final MonteCarlo monteCarlo = new MonteCarlo();
+    private final SpawnRng playoutRng = new SpawnRng();
+    // used by the speculator only
+    private final GridExpectimax speculativeSearch;
+
+    private final HintCache cache = new HintCache(64);
+
+    private volatile int generation;      // written on the FX thread only
+    private SearchControl running;         // FX thread only
+
+    private volatile int round;            // speculation round, written on the FX thread only
+    private volatile SearchControl speculating;
+    private BoardModel scratch;            // FX thread only
+
+    /**
+     * Creates a service whose searches score leaves with the built-in heuristics.
+     */
+    HintService() {
+        this(BoardEvaluator.heuristic());
+    }
+
+    /**
+     * Creates a service whose searches score 4x4 leaves with the given
+     * evaluator, e.g. a trained {@link com.example.demo.ai.NTupleNetwork}.
+     * Larger boards keep the line heuristic.
+     *
+     * @param evaluator evaluation of packed 4x4 boards, called from several threads
+     */
+    HintService(BoardEvaluator evaluator) {
+        this.packedSearch = new ParallelExpectimax(Runtime.getRuntime().availableProcessors(),
+            new SharedTranspositionTable(20), evaluator);
+        this.gridSearch = new GridExpectimax(new SharedTranspositionTable(18), evaluator);
+        this.speculativeSearch = new GridExpectimax(new SharedTranspositionTable(18), evaluator);
+    }
+
+    /** A position queued for speculation. */
+    private record Position(byte[] cells, long hash) {
+    }
+
+    /**
+     * A suggested move and what it is based on.
+     *
+     * @param move  suggested move, or {@code null} if no move is possible
+     * @param basis how it was found, e.g. {@code DEPTH 4} or {@code 5120 PLAYOUTS}
+     */
+    record Hint(Direction move, String basis) {
+
+        static Hint of(Expectimax.Result result) {
+            return new Hint(result.move(), "DEPTH " + result.depth());
+        }
+
+        static Hint of(MonteCarlo.Result result) {
+            return new Hint(result.best(), result.playouts() + " PLAYOUTS");
+        }
+    }
+
+    /**
+     * Shows a hint for the current position: at once if it is cached,
+     * otherwise from a new search.
+     *
+     * @param board        board to analyse; copied before this method returns
+     * @param budgetMillis time the search may take
+     * @param onHint       called on the FX thread with each refinement of the
+     *                     hint, best last
+     */
+    void request(BoardModel board, long budgetMillis, Consumer<Hint> onHint) {
+        invalidate();
+        int size = board.size();
+        long hash = board.hash();
+        Expectimax.Result cached = cache.get(size, hash);
+        if (cached != null) {
+            onHint.accept(Hint.of(cached));
+            return;
+        }
+        cancelSpeculation(); // leave the CPU to the search the player waits for
+
+        int requested = generation;
+        SearchControl control = SearchControl.withBudget(budgetMillis);
+        running = control;
+        byte[] cells = new byte[board.cellCount()];
+        board.copyTo(cells);
+        Consumer<Hint> post = hint -> Platform.runLater(() -> {
+            if (requested == generation) onHint.accept(hint);
+        });
+        worker.execute(() -> {
+            if (requested != generation) return; // superseded while queued
+            if (size >= MONTE_CARLO_MIN_SIZE) {
+                monteCarlo.evaluate(cells, size, MAX_PLAYOUTS, control, playoutRng, r -> post.accept(Hint.of(r)));
+                return;
+            }
+            Consumer<Expectimax.Result> onDepth = r -> post.accept(Hint.of(r));
+            Expectimax.Result result = (size == BitBoardEngine.SIZE)
+                ? packedSearch.search(BitBoardEngine.pack(cells), MAX_DEPTH, control, onDepth)
+                : gridSearch.search(cells, size, MAX_DEPTH, control, onDepth);
+            if (!control.isCancelled()) cache.put(size, hash, result);
+        });
+    }
+
+    /**
+     * Cancels the running search and drops its pending results; called
+     * whenever the board changes.
+     */
+    void invalidate() {
+        generation++;
+        if (running != null) {
+            running.cancel();
+            running = null;
+        }
+    }
+
+    /**
+     * Starts a speculation round for the current position and its four
+     * possible successors, cancelling the previous round.
+     *
+     * @param board        current position; copied before this method returns
+     * @param rng          the session's spawn generator; only peeked
+     * @param budgetMillis the level's hint budget
+     */
+    void speculate(BoardModel board, SpawnRng rng, long budgetMillis) {
+        cancelSpeculation();
+        int size = board.size();
+        if (size >= MONTE_CARLO_MIN_SIZE) return;
+        List<Position> positions = new ArrayList<>(5);
+        positions.add(snapshot(board));
+
+        if (scratch == null || scratch.size() != size) scratch = new BoardModel(size);
+        long decision = rng.peekDecision();
+        for (Direction dir : Direction.values()) {
+            scratch.copyFrom(board);
+            if (scratch.move(dir) < 0) continue;
+            scratch.spawn(decision, null);
+            positions.add(snapshot(scratch));
+        }
+
+        int started = round;
+        long budget = budgetMillis * SPECULATION_FACTOR;
+        speculator.execute(() -> {
+            for (Position p : positions) {
+                if (cache.contains(size, p.hash())) continue;
+                SearchControl control = SearchControl.withBudget(budget);
+                speculating = control;
+                if (started != round) return; // checked after publishing control, see cancelSpeculation
+                Expectimax.Result result = speculativeSearch.search(p.cells(), size, MAX_DEPTH, control, null);
+                if (control.isCancelled()) return;
+                cache.put(size, p.hash(), result);
+            }
+        });
+    }
+
+    /**
+     * Stops the running speculation round.
+     */
+    void cancelSpeculation() {
+        round++;
+        SearchControl control = speculating;
+        if (control != null) control.cancel();
+    }
+
+    /**
+     * Cancels all work and stops the threads once the running searches have
+     * returned. The service cannot be used afterwards.
+     */
+    void close() {
+        invalidate();
+        cancelSpeculation();
+        worker.execute(() -> {
+            packedSearch.close();
+            monteCarlo.close();
+        });
+        worker.shutdown();
+        speculator.shutdown();
+    }
+
+    /**
+     * Returns the cache of finished hints, e.g. to read its hit rate.
+     *
+     * @return the hint cache
+     */
+    HintCache cache() {
+        return cache;
+    }
+
+    private static Position snapshot(BoardModel board) {
+        byte[] cells = new byte[board.cellCount()];
+        board.copyTo(cells);
+        return new Position(cells, board.hash());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.view;
+
+import com.example.demo.model.Direction;
+
+/**
+ * Small bounded FIFO of pending moves, filled by key events and drained once
+ * per frame.
+ *
+ * <p>The ring never grows: when it is full, new input is dropped. Under key
+ * repeat the game therefore lags at most {@code capacity} moves behind the
+ * keyboard. {@link #skip(Direction)} lets the consumer collapse a run of
+ * repeats once a move turned out to be a no-op, since the board has not
+ * changed and the repeats would be no-ops as well.</p>
+ *
+ * <p>Not thread-safe; used from the FX thread only.</p>
+ */
+public final class InputQueue {
+
+    /** Default number of moves that can be pending at once. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private final Direction[] ring;
+    private int head;
+    private int size;
+
+    /**
+     * Creates a queue holding up to {@link #DEFAULT_CAPACITY} moves.
+     */
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue with a custom capacity.
+     *
+     * @param capacity maximum number of pending moves (at least 1)
+     */
+    public InputQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.ring = new Direction[capacity];
+    }
+
+    /**
+     * Appends a move unless the queue is full.
+     *
+     * @param dir move direction
+     * @return {@code false} if the move was dropped
+     */
+    public boolean offer(Direction dir) {
+        if (size == ring.length) return false;
+        ring[(head + size) % ring.length] = dir;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest pending move.
+     *
+     * @return the next move, or {@code null} if none is pending
+     */
+    public Direction poll() {
+        if (size == 0) return null;
+        Direction dir = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+        return dir;
+    }
+
+    /**
+     * Removes the run of pending moves at the head that equal {@code dir}.
+     *
+     * @param dir direction to collapse
+     * @return number of moves removed
+     */
+    public int skip(Direction dir) {
+        int skipped = 0;
+        while (size > 0 && ring[head] == dir) {
+            poll();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Drops every pending move, e.g. when an overlay takes over the stage.
+     */
+    public void clear() {
+        while (size > 0) poll();
+        head = 0;
+    }
+
+    /**
+     * Returns the number of pending moves.
+     *
+     * @return pending move count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether no move is pending.
+     *
+     * @return {@code true} if the queue is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -5,9 +5,10 @@
  */
 package com.example.demo.view;
 
-import java.io.InputStream;
 import java.net.URL;
 
+import com.example.demo.utils.FontRegistry;
+
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -37,29 +38,6 @@ public class MainMenu {
      */
     private MediaPlayer mediaPlayer;
 
-    /**
-     * Loads a retro-style font from the application's font resources.
-     * If none of the preferred fonts are available, falls back to Arial.
-     *
-     * @param size the font size to load
-     * @return the loaded Font instance
-     */
-    private static Font loadRetroFont(double size) {
-        String[] candidates = {
-            "/com/example/demo/fonts/Orbitron-VariableFont_wght.ttf",
-            "/com/example/demo/fonts/VT323-Regular.ttf"
-        };
-        for (String path : candidates) {
-            try (InputStream is = MainMenu.class.getResourceAsStream(path)) {
-                if (is != null) {
-                    Font f = Font.loadFont(is, size);
-                    if (f != null) return f;
-                }
-            } catch (Exception ignored) {}
-        }
-        return Font.font("Arial", size);
-    }
-
     /**
      * Stops and disposes of the background media player to release resources.
      * Should be called when leaving the menu.
@@ -127,7 +105,7 @@ public class MainMenu {
         }
 
         // Title text
-        Font titleFont = loadRetroFont(72);
+        Font titleFont = FontRegistry.retro(72);
         Text title = new Text("Crack 2048");
         title.setFont(titleFont);
         title.setFill(Color.web("#E2E8F0"));
@@ -151,7 +129,7 @@ public class MainMenu {
         menuScene.heightProperty().addListener((o, a, b) -> layoutTitle.run());
 
         // 4) Buttons
-        Font buttonFont = loadRetroFont(20);
+        Font buttonFont = FontRegistry.retro(20);
         double buttonWidth = 300;
         double buttonHeight = 60;
         double spacing = 20;
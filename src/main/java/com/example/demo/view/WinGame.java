@@ -1,6 +1,6 @@
 package com.example.demo.view;
 
-import java.io.InputStream;
+import com.example.demo.utils.FontRegistry;
 
 import javafx.scene.Group;
 import javafx.scene.Scene;
@@ -48,34 +48,6 @@ public class WinGame {
         return instance;
     }
 
-    /**
-     * Loads a retro-style font from the application's resources.
-     * Attempts to load fonts in the following priority order:
-     * <ol>
-     *   <li>Orbitron-VariableFont_wght.ttf</li>
-     *   <li>VT323-Regular.ttf</li>
-     *   <li>Arial (fallback)</li>
-     * </ol>
-     * 
-     * @param size the desired font size in points
-     * @return a Font object with the specified size, or Arial fallback if retro fonts are unavailable
-     */
-    private static Font loadRetroFont(double size) {
-        String[] candidates = {
-            "/com/example/demo/fonts/Orbitron-VariableFont_wght.ttf",
-            "/com/example/demo/fonts/VT323-Regular.ttf"
-        };
-        for (String path : candidates) {
-            try (InputStream is = WinGame.class.getResourceAsStream(path)) {
-                if (is != null) {
-                    Font f = Font.loadFont(is, size);
-                    if (f != null) return f;
-                }
-            } catch (Exception ignored) {}
-        }
-        return Font.font("Arial", size);
-    }
-
     /**
      * Creates and displays the win game overlay screen with victory message and navigation options.
      * 
@@ -125,7 +97,7 @@ public class WinGame {
         overlayRoot.getChildren().add(dim);
 
         // Title with glow (consistent with MainMenu)
-        Font titleFont = loadRetroFont(56);
+        Font titleFont = FontRegistry.retro(56);
         Text title = new Text("YOU WIN!");
         title.setFont(titleFont);
         title.setFill(Color.web("#E2E8F0"));
@@ -143,7 +115,7 @@ public class WinGame {
         overlayRoot.getChildren().add(title);
 
         // Score text
-        Font scoreFont = loadRetroFont(22);
+        Font scoreFont = FontRegistry.retro(22);
         Text scoreText = new Text("Score: " + score);
         scoreText.setFont(scoreFont);
         scoreText.setFill(Color.web("#D6E3FF"));
@@ -154,7 +126,7 @@ public class WinGame {
         overlayRoot.getChildren().add(scoreText);
 
         // Buttons (same style as MainMenu)
-        Font buttonFont = loadRetroFont(20);
+        Font buttonFont = FontRegistry.retro(20);
         double buttonWidth = 300;
         double buttonHeight = 60;
         double spacing = 20;
@@ -0,0 +1,156 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.AutoPlayer;
+import com.example.demo.ai.MovePolicy;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+import com.example.demo.model.Zobrist;
+
+/**
+ * Unit tests for {@link AutoPlayer}: the worker's game, frame handoff and pacing.
+ */
+public class AutoPlayerTest {
+
+    private static BoardModel startBoard(SpawnRng rng) {
+        BoardModel board = new BoardModel(4);
+        board.spawn(rng);
+        board.spawn(rng);
+        return board;
+    }
+
+    /**
+     * Polls until the finished frame arrives.
+     */
+    private static AutoPlayer.Frame awaitFinish(AutoPlayer player) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            AutoPlayer.Frame frame = player.poll();
+            if (frame != null && frame.finished()) return frame;
+            if (frame != null) player.recycle(frame);
+            Thread.sleep(16); // one pulse
+        }
+        throw new AssertionError("game did not finish");
+    }
+
+    /**
+     * At full speed the worker plays the same game as a sequential loop with the
+     * same policy and spawns, and the last frame shows its final position.
+     */
+    @Test
+    public void testPlaysSameGameAsSequentialLoop() throws InterruptedException {
+        SpawnRng rng = new SpawnRng(5L);
+        BoardModel board = startBoard(rng);
+        AutoPlayer player = new AutoPlayer(board, 0, MovePolicy.create("greedy", 1L), rng,
+            Integer.MAX_VALUE, AutoPlayer.UNLIMITED);
+        player.start();
+        AutoPlayer.Frame last = awaitFinish(player);
+        player.stop();
+
+        SpawnRng expectedRng = new SpawnRng(5L);
+        BoardModel expected = startBoard(expectedRng);
+        MovePolicy policy = MovePolicy.create("greedy", 1L);
+        long score = 0;
+        long moves = 0;
+        Direction dir;
+        while ((dir = policy.choose(expected)) != null) {
+            score += expected.move(dir);
+            moves++;
+            expected.spawn(expectedRng);
+        }
+
+        byte[] cells = new byte[16];
+        expected.copyTo(cells);
+        assertArrayEquals(cells, last.cells());
+        assertEquals(score, last.score());
+        assertEquals(moves, last.moves());
+        assertEquals(score, player.score());
+        assertEquals(expected.hash(), player.board().hash());
+        assertFalse(player.board().canMove());
+        assertNull(player.poll());
+        assertEquals(rng.nextDecision(), expectedRng.nextDecision()); // the generator was handed back in step
+    }
+
+    /**
+     * A display polling once per pulse sees only the newest frame; the rest are
+     * counted as skipped.
+     */
+    @Test
+    public void testSkipsFramesFasterThanThePulse() throws InterruptedException {
+        SpawnRng rng = new SpawnRng(9L);
+        AutoPlayer player = new AutoPlayer(startBoard(rng), 0, MovePolicy.create("corner", 1L), rng,
+            Integer.MAX_VALUE, AutoPlayer.UNLIMITED);
+        player.start();
+        long seen = 0;
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        AutoPlayer.Frame frame = null;
+        while (System.nanoTime() < deadline) {
+            frame = player.poll();
+            if (frame != null) {
+                seen++;
+                if (frame.finished()) break;
+                player.recycle(frame);
+            }
+            Thread.sleep(16);
+        }
+        player.stop();
+        assertTrue(frame != null && frame.finished());
+        assertEquals(frame.moves() + 1, seen + player.skippedFrames());
+        assertTrue(player.skippedFrames() > 0, "frames skipped: " + player.skippedFrames());
+    }
+
+    /**
+     * A paced player never moves faster than the configured speed and can be
+     * stopped mid-game with a consistent board. Only the upper bound is
+     * checked: a loaded machine may delay moves, but never speeds them up.
+     */
+    @Test
+    public void testPacingAndStop() throws InterruptedException {
+        SpawnRng rng = new SpawnRng(3L);
+        AutoPlayer player = new AutoPlayer(startBoard(rng), 0, MovePolicy.create("random", 1L), rng,
+            Integer.MAX_VALUE, 20);
+        long t0 = System.nanoTime();
+        player.start();
+        AutoPlayer.Frame first;
+        while ((first = player.poll()) == null) {
+            Thread.sleep(1);
+        }
+        player.recycle(first);
+        Thread.sleep(300);
+        player.stop();
+        long elapsedNanos = System.nanoTime() - t0;
+
+        // the first move is due at once, every later one at least 50 ms after the previous
+        long moves = player.moves();
+        assertTrue(moves >= 1);
+        assertTrue(moves <= 1 + elapsedNanos / 50_000_000L,
+            "moves at 20/s in " + elapsedNanos / 1_000_000 + " ms: " + moves);
+        AutoPlayer.Frame last = player.poll();
+        assertTrue(last.finished());
+        assertEquals(moves, last.moves());
+        assertEquals(Zobrist.hash(last.cells()), player.board().hash());
+    }
+
+    /**
+     * The player stops by itself once a tile reaches the stop exponent.
+     */
+    @Test
+    public void testStopsAtTargetTile() throws InterruptedException {
+        SpawnRng rng = new SpawnRng(1L);
+        AutoPlayer player = new AutoPlayer(startBoard(rng), 0, MovePolicy.create("greedy", 1L), rng,
+            5, AutoPlayer.UNLIMITED);
+        player.start();
+        awaitFinish(player);
+        player.stop();
+        assertEquals(5, player.board().maxExponent());
+        assertTrue(player.board().canMove());
+    }
+}
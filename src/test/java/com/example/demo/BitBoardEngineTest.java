@@ -0,0 +1,111 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+
+/**
+ * Unit tests for the headless {@link BitBoardEngine}.
+ *
+ * <p>These tests need no JavaFX toolkit: boards are built directly from
+ * exponents and the packed results are checked cell by cell.</p>
+ */
+public class BitBoardEngineTest {
+
+    /**
+     * Builds a packed board from a 4x4 grid of exponents.
+     *
+     * @param rows exponents, {@code rows[r][c]}
+     * @return packed board
+     */
+    private static long board(int[][] rows) {
+        long b = 0;
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                b = BitBoardEngine.withExponent(b, r, c, rows[r][c]);
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Tests that a left move slides tiles and merges each pair once.
+     */
+    @Test
+    public void testMoveLeftMergesOncePerPair() {
+        long before = board(new int[][] {
+            {1, 1, 1, 1},
+            {0, 2, 0, 2},
+            {3, 0, 0, 0},
+            {0, 0, 0, 0}
+        });
+        BitBoardEngine.Result r = BitBoardEngine.apply(before, Direction.LEFT);
+
+        assertTrue(r.changed());
+        assertEquals(board(new int[][] {
+            {2, 2, 0, 0},
+            {3, 0, 0, 0},
+            {3, 0, 0, 0},
+            {0, 0, 0, 0}
+        }), r.board());
+        assertEquals(4 + 4 + 8, r.scoreDelta());
+    }
+
+    /**
+     * Tests the vertical moves, which go through the transposition.
+     */
+    @Test
+    public void testMoveUpAndDown() {
+        long before = board(new int[][] {
+            {1, 0, 0, 0},
+            {1, 0, 2, 0},
+            {0, 0, 0, 0},
+            {2, 0, 2, 0}
+        });
+        assertEquals(board(new int[][] {
+            {2, 0, 3, 0},
+            {2, 0, 0, 0},
+            {0, 0, 0, 0},
+            {0, 0, 0, 0}
+        }), BitBoardEngine.move(before, Direction.UP));
+        assertEquals(board(new int[][] {
+            {0, 0, 0, 0},
+            {0, 0, 0, 0},
+            {2, 0, 0, 0},
+            {2, 0, 3, 0}
+        }), BitBoardEngine.move(before, Direction.DOWN));
+        assertEquals(4 + 8, BitBoardEngine.score(before, Direction.DOWN));
+    }
+
+    /**
+     * Tests that a move that cannot shift anything reports no change and no score.
+     */
+    @Test
+    public void testNoOpMove() {
+        long before = board(new int[][] {
+            {1, 2, 3, 4},
+            {0, 0, 0, 0},
+            {0, 0, 0, 0},
+            {0, 0, 0, 0}
+        });
+        BitBoardEngine.Result r = BitBoardEngine.apply(before, Direction.LEFT);
+        assertFalse(r.changed());
+        assertEquals(before, r.board());
+        assertEquals(0, r.scoreDelta());
+    }
+
+    /**
+     * Tests that transposing twice gives back the original board.
+     */
+    @Test
+    public void testTransposeIsInvolution() {
+        long b = 0x0123456789ABCDEFL;
+        assertEquals(b, BitBoardEngine.transpose(BitBoardEngine.transpose(b)));
+        assertEquals(BitBoardEngine.exponentAt(b, 1, 2),
+                     BitBoardEngine.exponentAt(BitBoardEngine.transpose(b), 2, 1));
+    }
+}
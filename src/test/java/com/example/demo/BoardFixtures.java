@@ -0,0 +1,37 @@
+package com.example.demo;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Board positions shared by the search tests.
+ */
+final class BoardFixtures {
+
+    private BoardFixtures() {
+    }
+
+    /**
+     * Builds a mid-game position by a seeded random walk: one spawn, then
+     * random moves, each followed by a spawn when it changed the board.
+     *
+     * @param size  board side length
+     * @param seed  seed of the walk
+     * @param steps number of random moves tried
+     * @return the position as exponents in row-major order
+     */
+    static byte[] midGame(int size, long seed, int steps) {
+        BoardModel board = new BoardModel(size);
+        SpawnRng rng = new SpawnRng(seed);
+        board.spawn(rng);
+        for (int i = 0; i < steps; i++) {
+            if (board.move(Direction.values()[(int) (rng.nextDecision() & 3)]) >= 0) {
+                board.spawn(rng);
+            }
+        }
+        byte[] cells = new byte[board.cellCount()];
+        board.copyTo(cells);
+        return cells;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.demo;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for {@link BoardModel}.
+ *
+ * <p>The model has no JavaFX dependency, so these tests run without starting
+ * the toolkit.</p>
+ */
+public class BoardModelTest {
+
+    /**
+     * Tests that moves update tile values and report the score gained.
+     */
+    @Test
+    public void testMoveUpdatesValues() {
+        BoardModel board = new BoardModel(8);
+        board.setExponent(0, 3);
+        board.setExponent(7, 3);
+
+        assertEquals(16, board.move(Direction.LEFT));
+        assertEquals(16, board.valueAt(0, 0));
+        assertEquals(0, board.valueAt(0, 7));
+        assertEquals(-1, board.move(Direction.LEFT));
+    }
+
+    /**
+     * Tests empty-cell counting and the empty-cell list used for random selection.
+     */
+    @Test
+    public void testEmptyCells() {
+        BoardModel board = new BoardModel(4);
+        assertEquals(16, board.emptyCount());
+        board.setExponent(0, 1);
+        board.setExponent(2, 1);
+        assertEquals(14, board.emptyCount());
+        assertFalse(board.isEmpty(0));
+        assertTrue(board.isEmpty(1));
+        for (int k = 0; k < board.emptyCount(); k++) {
+            assertTrue(board.isEmpty(board.emptyCellAt(k)));
+        }
+        assertEquals(-1, board.emptyCellAt(14));
+    }
+
+    /**
+     * Tests that empty-cell ranks follow row-major order, also across the
+     * 64-cell words of the 10x10 board.
+     */
+    @Test
+    public void testEmptyRank() {
+        BoardModel board = new BoardModel(10);
+        board.setExponent(0, 1);
+        board.setExponent(63, 1);
+        board.setExponent(64, 1);
+        int rank = 0;
+        for (int i = 0; i < board.cellCount(); i++) {
+            if (!board.isEmpty(i)) continue;
+            assertEquals(rank, board.emptyRank(i));
+            assertEquals(i, board.emptyCellByRank(rank));
+            rank++;
+        }
+        assertEquals(97, rank);
+        assertEquals(-1, board.emptyCellByRank(97));
+    }
+
+    /**
+     * Tests that the incremental index (empty cells, max tile, mergeable pairs)
+     * always matches a full rescan during a long random game on the 10x10 level.
+     */
+    @Test
+    public void testIncrementalIndexMatchesRescan() {
+        BoardModel board = new BoardModel(10);
+        SplittableRandom rnd = new SplittableRandom(7);
+        Direction[] dirs = Direction.values();
+        for (int step = 0; step < 5_000 && board.canMove(); step++) {
+            if (board.emptyCount() > 0) {
+                int index = board.emptyCellAt(rnd.nextInt(board.emptyCount()));
+                board.setExponent(index, rnd.nextInt(4) == 0 ? 2 : 1);
+            }
+            board.move(dirs[rnd.nextInt(4)]);
+
+            int empty = 0, max = 0, pairs = 0;
+            for (int r = 0; r < 10; r++) {
+                for (int c = 0; c < 10; c++) {
+                    int e = board.exponentAt(r, c);
+                    if (e == 0) { empty++; continue; }
+                    max = Math.max(max, e);
+                    if (c < 9 && board.exponentAt(r, c + 1) == e) pairs++;
+                    if (r < 9 && board.exponentAt(r + 1, c) == e) pairs++;
+                }
+            }
+            assertEquals(empty, board.emptyCount());
+            assertEquals(max, board.maxExponent());
+            assertEquals(pairs, board.mergeablePairs());
+        }
+    }
+
+    /**
+     * Tests game-over detection and the max tile on a full board.
+     */
+    @Test
+    public void testCanMoveAndMaxTile() {
+        BoardModel board = new BoardModel(4);
+        for (int i = 0; i < 16; i++) {
+            // checkerboard of 2s and 4s: full and no equal neighbours
+            board.setExponent(i, ((i / 4) + (i % 4)) % 2 + 1);
+        }
+        assertFalse(board.canMove());
+        assertEquals(2, board.maxExponent());
+
+        board.setExponent(5, 11);
+        assertEquals(11, board.maxExponent());
+        board.setExponent(6, 1);
+        board.setExponent(5, 1);
+        assertTrue(board.canMove());
+    }
+
+    /**
+     * Tests that only written cells are marked dirty and that clearing resets the marks.
+     */
+    @Test
+    public void testDirtyTracking() {
+        BoardModel board = new BoardModel(10);
+        assertEquals(100, board.dirtyCount());
+        board.clearDirty();
+        assertEquals(-1, board.nextDirty(0));
+
+        board.setExponent(3, 1);
+        board.setExponent(70, 1);
+        board.clearDirty();
+        board.move(Direction.LEFT);
+
+        // 3 -> 0 and 70 -> 70 (no-op), so only cells 0 and 3 changed
+        assertEquals(2, board.dirtyCount());
+        assertEquals(98, board.unchangedCount());
+        assertEquals(0, board.nextDirty(0));
+        assertEquals(3, board.nextDirty(1));
+        assertEquals(-1, board.nextDirty(4));
+        assertTrue(board.isDirty(3));
+        assertFalse(board.isDirty(70));
+    }
+
+    /**
+     * Tests that each merge is scored exactly once: with only 2s spawned, a tile
+     * of value {@code 2^e} was built by merges worth {@code (e - 1) * 2^e} in total.
+     */
+    @Test
+    public void testScoreCountedOnce() {
+        BoardModel board = new BoardModel(8);
+        SplittableRandom rnd = new SplittableRandom(11);
+        Direction[] dirs = Direction.values();
+        long score = 0;
+        for (int step = 0; step < 2_000 && board.canMove(); step++) {
+            if (board.emptyCount() > 0) {
+                board.setExponent(board.emptyCellAt(rnd.nextInt(board.emptyCount())), 1);
+            }
+            int gained = board.move(dirs[rnd.nextInt(4)]);
+            if (gained > 0) score += gained;
+        }
+        long expected = 0;
+        for (int i = 0; i < board.cellCount(); i++) {
+            int e = board.exponentAt(i);
+            if (e > 0) expected += (long) (e - 1) << e;
+        }
+        assertEquals(expected, score);
+    }
+
+    /**
+     * Tests that a copy made with copyFrom, moved and given the peeked spawn
+     * decision, predicts the real board after the same move and spawn.
+     */
+    @Test
+    public void testPredictedSuccessorMatches() {
+        BoardModel board = new BoardModel(8);
+        BoardModel copy = new BoardModel(8);
+        SpawnRng rng = new SpawnRng(21L);
+        board.spawn(rng);
+        Direction[] dirs = Direction.values();
+        for (int step = 0; step < 500 && board.canMove(); step++) {
+            Direction dir = dirs[step % 4];
+            copy.copyFrom(board);
+            if (copy.move(dir) < 0) continue;
+            copy.spawn(rng.peekDecision(), null);
+
+            board.move(dir);
+            board.spawn(rng);
+            assertEquals(board.hash(), copy.hash(), "step " + step);
+            for (int i = 0; i < board.cellCount(); i++) {
+                assertEquals(board.exponentAt(i), copy.exponentAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.Expectimax;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+
+/**
+ * Unit tests for the packed 4x4 {@link Expectimax} search.
+ */
+public class ExpectimaxTest {
+
+    private static long board(int... exponents) {
+        byte[] cells = new byte[16];
+        for (int i = 0; i < 16; i++) cells[i] = (byte) exponents[i];
+        return BitBoardEngine.pack(cells);
+    }
+
+    /**
+     * The suggested move always changes the board.
+     */
+    @Test
+    public void testBestMoveIsLegal() {
+        long b = board(
+            1, 0, 0, 0,
+            1, 0, 0, 0,
+            2, 0, 0, 0,
+            3, 0, 0, 0);
+        Expectimax.Result result = new Expectimax().search(b, 3);
+        assertNotNull(result.move());
+        assertNotEquals(b, BitBoardEngine.move(b, result.move()));
+        assertTrue(result.nodes() > 0);
+    }
+
+    /**
+     * When only DOWN and LEFT change the board, the search picks one of them.
+     */
+    @Test
+    public void testOnlyLegalDirectionsConsidered() {
+        long b = board(
+            1, 2, 1, 2,
+            2, 1, 2, 1,
+            1, 2, 1, 2,
+            0, 1, 2, 1);
+        Direction move = new Expectimax().search(b, 3).move();
+        assertTrue(move == Direction.DOWN || move == Direction.LEFT, "got " + move);
+        assertNotEquals(b, BitBoardEngine.move(b, move));
+    }
+
+    /**
+     * A board with no legal move yields no hint.
+     */
+    @Test
+    public void testStuckBoardHasNoMove() {
+        long b = board(
+            1, 2, 1, 2,
+            2, 1, 2, 1,
+            1, 2, 1, 2,
+            2, 1, 2, 1);
+        assertNull(new Expectimax().search(b, 4).move());
+    }
+
+    /**
+     * Repeating a search with a warm table gives the same answer.
+     */
+    @Test
+    public void testTableDoesNotChangeResult() {
+        long b = board(
+            5, 4, 3, 1,
+            1, 2, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 0, 1);
+        Expectimax search = new Expectimax();
+        Expectimax.Result first = search.search(b, 3);
+        Expectimax.Result second = search.search(b, 3);
+        assertEquals(first.move(), second.move());
+        assertEquals(first.value(), second.value(), 1.0); // the table stores floats
+        assertTrue(second.nodes() <= first.nodes());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.Direction;
+import com.example.demo.model.GridEngine;
+import com.example.demo.model.MoveEngine;
+
+/**
+ * Unit tests for the array-based {@link GridEngine} used by the 8x8 and 10x10 levels.
+ *
+ * <p>Besides a few hand-written lines, the engine is cross-checked against the
+ * table-driven {@link BitBoardEngine} on random 4x4 boards.</p>
+ */
+public class GridEngineTest {
+
+    /**
+     * Tests a single 8-wide row moving left and right.
+     */
+    @Test
+    public void testEightWideRow() {
+        GridEngine engine = new GridEngine(8);
+        byte[] board = new byte[64];
+        byte[] row = {1, 1, 0, 2, 2, 2, 0, 3};
+        System.arraycopy(row, 0, board, 0, 8);
+
+        byte[] left = board.clone();
+        assertEquals(4 + 8, engine.move(left, Direction.LEFT));
+        assertArrayEquals(new byte[] {2, 3, 2, 3, 0, 0, 0, 0}, Arrays.copyOf(left, 8));
+
+        byte[] right = board.clone();
+        assertEquals(4 + 8, engine.move(right, Direction.RIGHT));
+        assertArrayEquals(new byte[] {0, 0, 0, 0, 2, 2, 3, 3}, Arrays.copyOf(right, 8));
+    }
+
+    /**
+     * Tests a 10x10 column moving down, and that an unchanged board reports {@code -1}.
+     */
+    @Test
+    public void testTenByTenColumnAndNoOp() {
+        GridEngine engine = new GridEngine(10);
+        byte[] board = new byte[100];
+        board[0 * 10 + 3] = 4;
+        board[5 * 10 + 3] = 4;
+        assertEquals(32, engine.move(board, Direction.DOWN));
+        assertEquals(5, board[9 * 10 + 3]);
+        assertEquals(0, board[3]);
+        assertEquals(-1, engine.move(board, Direction.DOWN));
+    }
+
+    /**
+     * Tests that {@link GridEngine} agrees with {@link BitBoardEngine} on random boards.
+     */
+    @Test
+    public void testMatchesBitBoardEngine() {
+        GridEngine grid = new GridEngine(4);
+        SplittableRandom rnd = new SplittableRandom(42);
+        byte[] cells = new byte[16];
+        for (int n = 0; n < 10_000; n++) {
+            for (int i = 0; i < 16; i++) {
+                cells[i] = (byte) (rnd.nextInt(3) == 0 ? 0 : rnd.nextInt(1, 12));
+            }
+            long packed = BitBoardEngine.pack(cells);
+            for (Direction dir : Direction.values()) {
+                byte[] copy = cells.clone();
+                int gained = grid.move(copy, dir);
+                BitBoardEngine.Result r = BitBoardEngine.apply(packed, dir);
+                assertEquals(r.changed(), gained >= 0);
+                assertEquals(r.board(), BitBoardEngine.pack(copy));
+                if (r.changed()) assertEquals(r.scoreDelta(), gained);
+            }
+        }
+    }
+
+    /**
+     * Tests that the engine is picked automatically from the grid size.
+     */
+    @Test
+    public void testEngineSelection() {
+        assertSame(BitBoardEngine.asMoveEngine(), MoveEngine.forGridSize(4));
+        assertTrue(MoveEngine.forGridSize(8) instanceof GridEngine);
+        assertEquals(10, MoveEngine.forGridSize(10).size());
+    }
+}
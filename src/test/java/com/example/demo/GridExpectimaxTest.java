@@ -0,0 +1,98 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.Expectimax;
+import com.example.demo.ai.GridExpectimax;
+import com.example.demo.ai.SearchControl;
+import com.example.demo.ai.SharedTranspositionTable;
+import com.example.demo.model.MoveEngine;
+
+/**
+ * Unit tests for {@link GridExpectimax}, the search on flat boards of any size.
+ */
+public class GridExpectimaxTest {
+
+    /**
+     * Every completed depth is reported in order, and the final result is the
+     * deepest one with a legal move.
+     */
+    @Test
+    public void testReportsEachDepth() {
+        byte[] cells = BoardFixtures.midGame(10, 20L, 300);
+        List<Expectimax.Result> passes = new ArrayList<>();
+        Expectimax.Result result = new GridExpectimax()
+            .search(cells, 10, 3, SearchControl.withBudget(60_000), passes::add);
+
+        assertNotNull(result.move());
+        assertEquals(passes.get(passes.size() - 1), result);
+        for (int i = 0; i < passes.size(); i++) {
+            assertEquals(i + 1, passes.get(i).depth());
+        }
+        byte[] copy = cells.clone();
+        assertTrue(MoveEngine.forGridSize(10).move(copy, result.move()) >= 0);
+    }
+
+    /**
+     * The search stops close to its deadline even when allowed to go deep.
+     */
+    @Test
+    public void testDeadlineIsHonoured() {
+        byte[] cells = BoardFixtures.midGame(10, 20L, 300);
+        long t0 = System.nanoTime();
+        Expectimax.Result result = new GridExpectimax().search(cells, 10, 8, SearchControl.withBudget(40), null);
+        long elapsedMillis = (System.nanoTime() - t0) / 1_000_000;
+
+        assertNotNull(result.move());
+        assertTrue(elapsedMillis < 40 + 100, "took " + elapsedMillis + " ms");
+    }
+
+    /**
+     * A cancelled search still returns the depth-1 move.
+     */
+    @Test
+    public void testCancelledSearchKeepsFirstPass() {
+        SearchControl control = SearchControl.withBudget(60_000);
+        control.cancel();
+        byte[] cells = BoardFixtures.midGame(8, 20L, 300);
+        Expectimax.Result result = new GridExpectimax().search(cells, 8, 6, control, null);
+        assertEquals(1, result.depth());
+        assertNotNull(result.move());
+    }
+
+    /**
+     * Hashes kept incrementally through moves and spawns give the same keys as
+     * a rescan: a large shared table, full of hits, finds the same value as a
+     * two-slot table that almost never hits.
+     */
+    @Test
+    public void testTableDoesNotChangeResult() {
+        for (int size : new int[] {4, 8}) {
+            byte[] cells = BoardFixtures.midGame(size, 20L, 300);
+            Expectimax.Result cached = new GridExpectimax(new SharedTranspositionTable(20))
+                .search(cells, size, 3, SearchControl.unbounded(), null);
+            Expectimax.Result uncached = new GridExpectimax(new SharedTranspositionTable(1))
+                .search(cells, size, 3, SearchControl.unbounded(), null);
+            assertEquals(uncached.move(), cached.move());
+            assertEquals(uncached.value(), cached.value(), 1.0); // the table stores floats
+        }
+    }
+
+    /**
+     * A board with no legal move yields no move.
+     */
+    @Test
+    public void testStuckBoardHasNoMove() {
+        byte[] cells = new byte[64];
+        for (int i = 0; i < cells.length; i++) cells[i] = (byte) (((i / 8) + (i % 8)) % 2 + 1);
+        assertNull(new GridExpectimax().search(cells, 8, 4, SearchControl.withBudget(1000), null).move());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.Expectimax;
+import com.example.demo.ai.HintCache;
+import com.example.demo.model.Direction;
+
+/**
+ * Unit tests for the LRU {@link HintCache}.
+ */
+public class HintCacheTest {
+
+    private static Expectimax.Result result(Direction move, int depth) {
+        return new Expectimax.Result(move, 0, depth, 0);
+    }
+
+    /**
+     * Lookups count hits and misses; contains() does not count.
+     */
+    @Test
+    public void testHitRate() {
+        HintCache cache = new HintCache(4);
+        assertNull(cache.get(4, 1L));
+        cache.put(4, 1L, result(Direction.LEFT, 3));
+        assertTrue(cache.contains(4, 1L));
+        assertEquals(Direction.LEFT, cache.get(4, 1L).move());
+        assertNull(cache.get(8, 1L)); // same hash on another size
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(1.0 / 3, cache.hitRate(), 1e-9);
+    }
+
+    /**
+     * A shallower result never replaces a deeper one.
+     */
+    @Test
+    public void testKeepsDeeperResult() {
+        HintCache cache = new HintCache(4);
+        cache.put(4, 7L, result(Direction.UP, 5));
+        cache.put(4, 7L, result(Direction.DOWN, 2));
+        assertEquals(Direction.UP, cache.get(4, 7L).move());
+        cache.put(4, 7L, result(Direction.RIGHT, 6));
+        assertEquals(Direction.RIGHT, cache.get(4, 7L).move());
+    }
+
+    /**
+     * The least recently used position is evicted first.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        HintCache cache = new HintCache(2);
+        cache.put(4, 1L, result(Direction.UP, 1));
+        cache.put(4, 2L, result(Direction.UP, 1));
+        cache.get(4, 1L);
+        cache.put(4, 3L, result(Direction.UP, 1));
+        assertTrue(cache.contains(4, 1L));
+        assertFalse(cache.contains(4, 2L));
+        assertTrue(cache.contains(4, 3L));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.Direction;
+import com.example.demo.view.InputQueue;
+
+/**
+ * Unit tests for {@link InputQueue}. The queue has no JavaFX dependency.
+ */
+public class InputQueueTest {
+
+    /**
+     * Tests FIFO order and that input beyond the capacity is dropped.
+     */
+    @Test
+    public void testBoundedFifo() {
+        InputQueue queue = new InputQueue(3);
+        assertTrue(queue.offer(Direction.LEFT));
+        assertTrue(queue.offer(Direction.UP));
+        assertTrue(queue.offer(Direction.RIGHT));
+        assertFalse(queue.offer(Direction.DOWN));
+        assertEquals(3, queue.size());
+
+        assertEquals(Direction.LEFT, queue.poll());
+        assertTrue(queue.offer(Direction.DOWN));
+        assertEquals(Direction.UP, queue.poll());
+        assertEquals(Direction.RIGHT, queue.poll());
+        assertEquals(Direction.DOWN, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Tests collapsing a run of repeated moves and clearing.
+     */
+    @Test
+    public void testSkipAndClear() {
+        InputQueue queue = new InputQueue();
+        for (int i = 0; i < 5; i++) queue.offer(Direction.LEFT);
+        queue.offer(Direction.UP);
+        queue.offer(Direction.LEFT);
+
+        assertEquals(5, queue.skip(Direction.LEFT));
+        assertEquals(0, queue.skip(Direction.LEFT));
+        assertEquals(Direction.UP, queue.poll());
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.MonteCarlo;
+import com.example.demo.ai.MonteCarloPolicy;
+import com.example.demo.ai.SearchControl;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for {@link MonteCarlo} playouts and {@link MonteCarloPolicy}.
+ */
+public class MonteCarloTest {
+
+    /**
+     * A seeded evaluation that runs to the end gives identical statistics
+     * every time, and reports every wave.
+     */
+    @Test
+    public void testSeededEvaluationIsReproducible() {
+        byte[] cells = BoardFixtures.midGame(10, 22L, 200);
+        try (MonteCarlo mc = new MonteCarlo(40)) {
+            List<MonteCarlo.Result> waves = new ArrayList<>();
+            MonteCarlo.Result a = mc.evaluate(cells, 10, 256, SearchControl.unbounded(), new SpawnRng(5L), waves::add);
+            MonteCarlo.Result b = mc.evaluate(cells, 10, 256, SearchControl.unbounded(), new SpawnRng(5L), null);
+
+            assertEquals(a.moves(), b.moves());
+            assertEquals(a.best(), b.best());
+            assertNotNull(a.best());
+            assertEquals(waves.get(waves.size() - 1).moves(), a.moves());
+            for (MonteCarlo.MoveStats m : a.moves()) {
+                assertEquals(256, m.playouts());
+            }
+            assertTrue(a.playoutsPerSecond() > 0);
+        }
+    }
+
+    /**
+     * Confidence intervals shrink as playouts are added.
+     */
+    @Test
+    public void testConfidenceIntervalShrinks() {
+        byte[] cells = BoardFixtures.midGame(8, 22L, 200);
+        try (MonteCarlo mc = new MonteCarlo(40)) {
+            MonteCarlo.Result few = mc.evaluate(cells, 8, 64, SearchControl.unbounded(), new SpawnRng(6L), null);
+            MonteCarlo.Result many = mc.evaluate(cells, 8, 1024, SearchControl.unbounded(), new SpawnRng(6L), null);
+            double fewWidth = few.moves().get(0).halfWidth();
+            double manyWidth = many.moves().get(0).halfWidth();
+            assertTrue(manyWidth < fewWidth / 2, few.moves().get(0) + " vs " + many.moves().get(0));
+        }
+    }
+
+    /**
+     * A cancelled evaluation runs no playouts; a stuck board has no best move.
+     */
+    @Test
+    public void testCancelledAndStuck() {
+        try (MonteCarlo mc = new MonteCarlo()) {
+            SearchControl control = SearchControl.unbounded();
+            control.cancel();
+            byte[] cells = BoardFixtures.midGame(10, 22L, 200);
+            MonteCarlo.Result cancelled = mc.evaluate(cells, 10, 1000, control, new SpawnRng(1L), null);
+            assertEquals(0, cancelled.playouts());
+
+            byte[] stuck = new byte[16];
+            for (int i = 0; i < 16; i++) stuck[i] = (byte) (((i / 4) + (i % 4)) % 2 + 1);
+            MonteCarlo.Result none = mc.evaluate(stuck, 4, 100, SearchControl.unbounded(), new SpawnRng(1L), null);
+            assertNull(none.best());
+            assertTrue(none.moves().isEmpty());
+        }
+    }
+
+    /**
+     * Closing a policy shuts down its playout threads.
+     */
+    @Test
+    public void testPolicyCloseStopsPlayouts() {
+        BoardModel board = new BoardModel(8);
+        board.load(BoardFixtures.midGame(8, 22L, 200));
+        MonteCarloPolicy policy = new MonteCarloPolicy(3L);
+        assertNotNull(policy.choose(board));
+        policy.close();
+        assertThrows(RejectedExecutionException.class, () -> policy.choose(board));
+    }
+}
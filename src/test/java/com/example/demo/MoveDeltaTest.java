@@ -0,0 +1,89 @@
+package com.example.demo;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.MoveDelta;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for {@link MoveDelta}: replaying the recorded events one by one,
+ * the way the board view does, must reproduce the model exactly.
+ */
+public class MoveDeltaTest {
+
+    /**
+     * Replays events onto a copy of the board, checking the ordering guarantees.
+     *
+     * @param shown board as currently displayed; updated in place
+     * @param delta events to replay
+     * @param first position of the first event to replay
+     */
+    private static void replay(byte[] shown, MoveDelta delta, int first) {
+        for (int k = first; k < delta.size(); k++) {
+            int e = delta.event(k);
+            int from = MoveDelta.from(e), to = MoveDelta.to(e), exp = MoveDelta.exponent(e);
+            switch (MoveDelta.type(e)) {
+                case MoveDelta.SLIDE -> {
+                    assertEquals(0, shown[to], "slide target must be empty");
+                    shown[to] = shown[from];
+                    shown[from] = 0;
+                }
+                case MoveDelta.MERGE -> {
+                    assertEquals(exp - 1, shown[to], "merge target must hold the first tile");
+                    shown[to] = (byte) exp;
+                    shown[from] = 0;
+                }
+                default -> shown[to] = (byte) exp;
+            }
+        }
+    }
+
+    /**
+     * Plays random games on both engines and compares the replayed view with the model.
+     */
+    @Test
+    public void testReplayMatchesModel() {
+        for (int size : new int[] {4, 8}) {
+            BoardModel board = new BoardModel(size);
+            MoveDelta delta = new MoveDelta(board.cellCount());
+            SpawnRng rng = new SpawnRng(size);
+            SplittableRandom dirs = new SplittableRandom(size);
+            byte[] shown = new byte[board.cellCount()];
+            byte[] actual = new byte[board.cellCount()];
+
+            for (int step = 0; step < 3_000 && board.canMove(); step++) {
+                int first = delta.size();
+                board.spawn(rng, delta);
+                replay(shown, delta, first);
+                board.move(Direction.values()[dirs.nextInt(4)], delta);
+                replay(shown, delta, 0);
+
+                board.copyTo(actual);
+                assertArrayEquals(actual, shown);
+            }
+        }
+    }
+
+    /**
+     * Tests that a move which changes nothing leaves the delta empty.
+     */
+    @Test
+    public void testNoOpMoveIsEmpty() {
+        BoardModel board = new BoardModel(4);
+        MoveDelta delta = new MoveDelta(board.cellCount());
+        board.setExponent(0, 1);
+        board.setExponent(1, 2);
+
+        assertEquals(-1, board.move(Direction.LEFT, delta));
+        assertTrue(delta.isEmpty());
+        assertEquals(0, board.move(Direction.RIGHT, delta));
+        assertEquals(2, delta.size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.MovePolicy;
+import com.example.demo.ai.NTupleNetwork;
+import com.example.demo.ai.NTuplePolicy;
+import com.example.demo.ai.SimulationStats;
+import com.example.demo.ai.TDTrainer;
+import com.example.demo.model.BitBoardEngine;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for {@link NTupleNetwork}, its TD training and {@link NTuplePolicy}.
+ */
+public class NTupleNetworkTest {
+
+    private static final byte[] CELLS = {
+        1, 2, 3, 0,
+        0, 4, 0, 1,
+        5, 0, 0, 2,
+        0, 0, 1, 0
+    };
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("ntuple", ".bin");
+        Files.delete(file); // openOrCreate writes the header of a missing file
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Weights written through the mapping are read back after reopening.
+     */
+    @Test
+    public void testWeightsSurviveReopen() throws IOException {
+        long board = BitBoardEngine.pack(CELLS);
+        double value;
+        try (NTupleNetwork network = NTupleNetwork.openOrCreate(file, NTupleNetwork.SMALL)) {
+            assertEquals(0.0, network.evaluate(board), 0.0);
+            network.update(board, 0.5);
+            value = network.evaluate(board);
+            // symmetries may select a weight more than once
+            assertTrue(value >= 0.5 * network.featuresPerBoard(), "value " + value);
+            network.force();
+        }
+        try (NTupleNetwork network = NTupleNetwork.open(file)) {
+            assertEquals(value, network.evaluate(board), 1e-6);
+            assertEquals(NTupleNetwork.SMALL.length, network.tuples().length);
+            assertArrayEquals(NTupleNetwork.SMALL[2], network.tuples()[2]);
+        }
+    }
+
+    /**
+     * A file created for one tuple set is not opened for training with another.
+     */
+    @Test
+    public void testRejectsOtherTuples() throws IOException {
+        NTupleNetwork.openOrCreate(file, NTupleNetwork.SMALL).close();
+        try (NTupleNetwork network = NTupleNetwork.openOrCreate(file, new int[][] {{0, 1, 2}})) {
+            fail("opened with other tuples: " + network.featuresPerBoard());
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("other tuples"));
+        }
+    }
+
+    /**
+     * Rotated, mirrored and transposed boards share their value.
+     */
+    @Test
+    public void testSymmetricBoardsEvaluateEqually() throws IOException {
+        long board = BitBoardEngine.pack(CELLS);
+        byte[] mirrored = new byte[16];
+        byte[] rotated = new byte[16];
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                mirrored[r * 4 + 3 - c] = CELLS[r * 4 + c];
+                rotated[c * 4 + 3 - r] = CELLS[r * 4 + c];
+            }
+        }
+        try (NTupleNetwork network = NTupleNetwork.openOrCreate(file, NTupleNetwork.SMALL)) {
+            network.update(board, 1.0);
+            network.update(BitBoardEngine.pack(new byte[] {1, 1, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3}), -0.25);
+            double value = network.evaluate(board);
+            assertEquals(value, network.evaluate(BitBoardEngine.pack(mirrored)), 1e-6);
+            assertEquals(value, network.evaluate(BitBoardEngine.pack(rotated)), 1e-6);
+            assertEquals(value, network.evaluate(BitBoardEngine.transpose(board)), 1e-6);
+        }
+    }
+
+    /**
+     * A few hundred training games already play better than random moves.
+     */
+    @Test
+    public void testTrainingBeatsRandom() throws IOException {
+        try (NTupleNetwork network = NTupleNetwork.openOrCreate(file, NTupleNetwork.SMALL);
+             TDTrainer trainer = new TDTrainer(network, 2, TDTrainer.DEFAULT_ALPHA)) {
+            SimulationStats stats = trainer.train(500, new SpawnRng(3));
+            assertEquals(500, stats.games());
+
+            long trained = averageScore(new NTuplePolicy(network), 50);
+            long random = averageScore(MovePolicy.create("random", 5), 50);
+            assertTrue(trained > random, "trained " + trained + " vs random " + random);
+        }
+    }
+
+    private static long averageScore(MovePolicy policy, int games) {
+        SpawnRng rng = new SpawnRng(11);
+        BoardModel board = new BoardModel(4);
+        long total = 0;
+        for (int g = 0; g < games; g++) {
+            board.clear();
+            board.spawn(rng);
+            board.spawn(rng);
+            Direction dir;
+            while ((dir = policy.choose(board)) != null) {
+                total += board.move(dir);
+                board.spawn(rng);
+            }
+        }
+        return total / games;
+    }
+}
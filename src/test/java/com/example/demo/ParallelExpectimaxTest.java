@@ -0,0 +1,75 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.Expectimax;
+import com.example.demo.ai.ParallelExpectimax;
+import com.example.demo.model.BitBoardEngine;
+
+/**
+ * Unit tests for {@link ParallelExpectimax}: depth reached, deadlines and stuck boards.
+ */
+public class ParallelExpectimaxTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+
+    private static long board(int... exponents) {
+        byte[] cells = new byte[16];
+        for (int i = 0; i < 16; i++) cells[i] = (byte) exponents[i];
+        return BitBoardEngine.pack(cells);
+    }
+
+    private static final long POSITION = board(
+        5, 4, 3, 1,
+        1, 2, 0, 0,
+        0, 1, 0, 0,
+        0, 0, 0, 1);
+
+    /**
+     * Without a deadline every thread count reaches the requested depth with a
+     * legal move.
+     */
+    @Test
+    public void testReachesDepthOnAnyThreadCount() {
+        for (int threads : new int[] {1, 2, 4}) {
+            try (ParallelExpectimax search = new ParallelExpectimax(threads)) {
+                Expectimax.Result result = search.search(POSITION, 3, System.nanoTime() + NO_DEADLINE);
+                assertEquals(3, result.depth(), "threads " + threads);
+                assertNotEquals(POSITION, BitBoardEngine.move(POSITION, result.move()));
+                assertTrue(result.nodes() > 0);
+            }
+        }
+    }
+
+    /**
+     * A deadline already in the past still yields the depth-1 answer.
+     */
+    @Test
+    public void testExpiredDeadlineKeepsFirstPass() {
+        try (ParallelExpectimax search = new ParallelExpectimax(2)) {
+            Expectimax.Result result = search.search(POSITION, 6, System.nanoTime() - 1);
+            assertEquals(1, result.depth());
+            assertNotEquals(POSITION, BitBoardEngine.move(POSITION, result.move()));
+        }
+    }
+
+    /**
+     * A board with no legal move yields no move.
+     */
+    @Test
+    public void testStuckBoardHasNoMove() {
+        long stuck = board(
+            1, 2, 1, 2,
+            2, 1, 2, 1,
+            1, 2, 1, 2,
+            2, 1, 2, 1);
+        try (ParallelExpectimax search = new ParallelExpectimax(2)) {
+            assertNull(search.search(stuck, 4, System.nanoTime() + NO_DEADLINE).move());
+        }
+    }
+}
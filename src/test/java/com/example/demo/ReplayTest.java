@@ -0,0 +1,215 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.MovePolicy;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.Levels;
+import com.example.demo.model.ReplayReader;
+import com.example.demo.model.ReplayRecorder;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for the replay log: {@link ReplayRecorder} and {@link ReplayReader}.
+ */
+public class ReplayTest {
+
+    private Path file;
+
+    /** What a recorded game should replay to. */
+    private record Played(byte[] cells, long score, List<Direction> moves) {
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("replay", ".c2r");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Plays and records one game like GameScene does: two opening spawns, then
+     * a spawn after every move.
+     */
+    private static Played play(ReplayRecorder recorder, int level, SpawnRng rng, String policy, int maxMoves) {
+        BoardModel board = new BoardModel(Levels.gridSize(level));
+        recorder.startGame(level, rng);
+        recorder.spawn(board, board.spawn(rng));
+        recorder.spawn(board, board.spawn(rng));
+        MovePolicy chooser = MovePolicy.create(policy, 1L);
+        List<Direction> moves = new ArrayList<>();
+        long score = 0;
+        Direction dir;
+        while (moves.size() < maxMoves && (dir = chooser.choose(board)) != null) {
+            score += board.move(dir);
+            recorder.move(dir);
+            moves.add(dir);
+            recorder.spawn(board, board.spawn(rng));
+        }
+        recorder.endGame();
+        byte[] cells = new byte[board.cellCount()];
+        board.copyTo(cells);
+        return new Played(cells, score, moves);
+    }
+
+    private static void assertReplays(Played expected, ReplayReader.Game game) {
+        ReplayReader.Replay replay = game.replay();
+        byte[] cells = new byte[replay.board().cellCount()];
+        replay.board().copyTo(cells);
+        assertArrayEquals(expected.cells(), cells);
+        assertEquals(expected.score(), replay.score());
+        assertEquals(expected.moves(), replay.moves());
+    }
+
+    /**
+     * Seeded and unseeded games on every level play back to the same final
+     * position, score and moves.
+     */
+    @Test
+    public void testGamesReplayExactly() throws IOException {
+        List<Played> played = new ArrayList<>();
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            for (int level = 0; level < Levels.count(); level++) {
+                played.add(play(recorder, level, new SpawnRng(level), "greedy", 3000));
+                played.add(play(recorder, level, new SpawnRng(), "random", 3000));
+            }
+        }
+        List<ReplayReader.Game> games = ReplayReader.read(file);
+        assertEquals(played.size(), games.size());
+        for (int g = 0; g < games.size(); g++) {
+            ReplayReader.Game game = games.get(g);
+            assertEquals(g / 2, game.level());
+            assertEquals(Levels.gridSize(g / 2), game.gridSize());
+            assertEquals(g % 2 == 0, game.seeded());
+            assertReplays(played.get(g), game);
+        }
+    }
+
+    /**
+     * A game won by its last move ends without a spawn, and a reopened log
+     * keeps its earlier games.
+     */
+    @Test
+    public void testWinWithoutFinalSpawnAndAppend() throws IOException {
+        SpawnRng rng = new SpawnRng();
+        BoardModel board = new BoardModel(4);
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 0, new SpawnRng(1L), "corner", 50);
+        }
+        Direction dir;
+        long score;
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            recorder.startGame(0, rng);
+            recorder.spawn(board, board.spawn(rng));
+            recorder.spawn(board, board.spawn(rng));
+            dir = MovePolicy.create("greedy", 1L).choose(board);
+            score = board.move(dir);
+            recorder.move(dir);
+            recorder.endGame(); // won: no spawn follows
+        }
+        byte[] cells = new byte[16];
+        board.copyTo(cells);
+
+        List<ReplayReader.Game> games = ReplayReader.read(file);
+        assertEquals(2, games.size());
+        assertFalse(games.get(1).finalSpawn());
+        assertReplays(new Played(cells, score, List.of(dir)), games.get(1));
+    }
+
+    /**
+     * A game the application never finished is skipped, even if its last
+     * record is cut off, and reopening the log drops the cut-off record.
+     */
+    @Test
+    public void testSkipsUnfinishedGame() throws IOException {
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 1, new SpawnRng(4L), "corner", 200);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 0, 4, 1, 0, 0})); // truncated game header
+        }
+        assertEquals(1, ReplayReader.read(file).size());
+
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 0, new SpawnRng(5L), "corner", 100);
+        }
+        List<ReplayReader.Game> games = ReplayReader.read(file);
+        assertEquals(2, games.size());
+        assertEquals(0, games.get(1).level());
+    }
+
+    /**
+     * A damaged record that is not the last one makes the log unreadable
+     * instead of silently dropping the games after it.
+     */
+    @Test
+    public void testRejectsCorruptRecord() throws IOException {
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 0, new SpawnRng(6L), "corner", 100);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {2, -1, -1, -1, -1, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0}));
+        }
+        assertThrows(IOException.class, () -> ReplayReader.read(file));
+        assertThrows(IOException.class, () -> ReplayRecorder.open(file).close());
+    }
+
+    /**
+     * Pins where seeded spawns land. Seeded games store no spawns, so if this
+     * fails the empty-cell order or {@link SpawnRng} changed: bump
+     * {@code ReplayRecorder.VERSION} and update the expected position.
+     */
+    @Test
+    public void testSeededSpawnOrderIsPinned() throws IOException {
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 0, new SpawnRng(25L), "corner", 40);
+        }
+        ReplayReader.Replay replay = ReplayReader.read(file).get(0).replay();
+        byte[] cells = new byte[16];
+        replay.board().copyTo(cells);
+        assertArrayEquals(new byte[] {1, 0, 0, 0, 3, 0, 0, 2, 5, 0, 2, 0, 6, 4, 2, 1}, cells);
+    }
+
+    /**
+     * A 10,000-move game takes a few KB: about 2.5 KB seeded, where only moves
+     * are stored, and little more than one byte per move unseeded.
+     */
+    @Test
+    public void testTenThousandMovesFitInAFewKilobytes() throws IOException {
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 2, new SpawnRng(8L), "corner", 10_000);
+        }
+        long seeded = Files.size(file);
+        assertTrue(seeded < 2600, "seeded log: " + seeded + " bytes");
+
+        Files.delete(file);
+        try (ReplayRecorder recorder = ReplayRecorder.open(file)) {
+            play(recorder, 2, new SpawnRng(), "corner", 10_000);
+        }
+        long unseeded = Files.size(file);
+        assertTrue(unseeded < 14_000, "unseeded log: " + unseeded + " bytes");
+        assertEquals(10_000, ReplayReader.read(file).get(0).moves());
+    }
+}
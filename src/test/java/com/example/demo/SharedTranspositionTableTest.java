@@ -0,0 +1,104 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.SharedTranspositionTable;
+
+/**
+ * Unit tests for the off-heap {@link SharedTranspositionTable}.
+ */
+public class SharedTranspositionTableTest {
+
+    /**
+     * A stored value is found at its depth and shallower, not deeper.
+     */
+    @Test
+    public void testDepthRule() {
+        SharedTranspositionTable table = new SharedTranspositionTable(8);
+        table.put(0x1234L, 3, 42.5);
+        assertEquals(42.5, table.get(0x1234L, 3));
+        assertEquals(42.5, table.get(0x1234L, 1));
+        assertTrue(Double.isNaN(table.get(0x1234L, 4)));
+        assertTrue(Double.isNaN(table.get(0x4321L, 0)));
+        assertEquals(2, table.hits());
+        assertEquals(2, table.misses());
+    }
+
+    /**
+     * The empty board (key 0) is not mistaken for an empty slot.
+     */
+    @Test
+    public void testEmptyBoardKey() {
+        SharedTranspositionTable table = new SharedTranspositionTable(4);
+        assertTrue(Double.isNaN(table.get(0L, 0)));
+        table.put(0L, 0, 7);
+        assertEquals(7.0, table.get(0L, 0));
+    }
+
+    /**
+     * In a single bucket the deepest entry survives shallower stores, which
+     * take turns in the second slot; a lookup of a third board is a collision.
+     */
+    @Test
+    public void testDepthPreferredReplacement() {
+        SharedTranspositionTable table = new SharedTranspositionTable(1); // one bucket
+        table.put(1L, 5, 10);
+        table.put(2L, 2, 20);
+        table.put(3L, 1, 30);
+        assertEquals(10.0, table.get(1L, 5));
+        assertTrue(Double.isNaN(table.get(2L, 0)));
+        assertEquals(30.0, table.get(3L, 1));
+        assertEquals(1, table.collisions());
+
+        table.put(4L, 6, 40); // deeper: takes the preferred slot
+        assertEquals(40.0, table.get(4L, 6));
+        table.clear();
+        assertTrue(Double.isNaN(table.get(4L, 0)));
+    }
+
+    /**
+     * Threads racing on a small table never read a value stored for another
+     * board.
+     */
+    @Test
+    public void testConcurrentAccessNeverReturnsWrongValue() throws InterruptedException {
+        SharedTranspositionTable table = new SharedTranspositionTable(6);
+        AtomicLong wrong = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            threads.add(new Thread(() -> {
+                long x = seed * 0x9E3779B97F4A7C15L + 1;
+                for (int i = 0; i < 200_000; i++) {
+                    x ^= x << 13; x ^= x >>> 7; x ^= x << 17;
+                    long board = x & 0x3FF; // few boards, many races
+                    table.put(board, (int) (x >>> 60), board);
+                    double v = table.get(board ^ 1, 0);
+                    if (!Double.isNaN(v) && v != (board ^ 1)) wrong.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) t.join();
+        assertEquals(0, wrong.get());
+        assertTrue(table.hits() > 0);
+    }
+
+    /**
+     * Capacities the buffer cannot index are rejected.
+     */
+    @Test
+    public void testCapacityRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SharedTranspositionTable(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SharedTranspositionTable(SharedTranspositionTable.MAX_LOG2_CAPACITY + 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.ai.MovePolicy;
+import com.example.demo.ai.SimulationRunner;
+import com.example.demo.ai.SimulationStats;
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for the headless simulation: policies and the parallel runner.
+ */
+public class SimulationRunnerTest {
+
+    /**
+     * Tests that a seeded run gives the same results on one thread and on several.
+     */
+    @Test
+    public void testSeededRunIndependentOfThreads() {
+        SimulationStats one, many;
+        try (SimulationRunner runner = new SimulationRunner(1, 0)) {
+            one = runner.run(4, "random", 600, new SpawnRng(42L));
+        }
+        try (SimulationRunner runner = new SimulationRunner(3, 0)) {
+            many = runner.run(4, "random", 600, new SpawnRng(42L));
+        }
+        assertEquals(600, one.games());
+        assertEquals(one.moves(), many.moves());
+        for (int p : new int[] {1, 50, 90, 100}) {
+            assertEquals(one.scorePercentile(p), many.scorePercentile(p));
+        }
+        for (int e = 0; e < 32; e++) {
+            assertEquals(one.maxTileCount(e), many.maxTileCount(e));
+        }
+    }
+
+    /**
+     * Tests that every policy returns a legal move, and none on a stuck board.
+     */
+    @Test
+    public void testPoliciesChooseLegalMoves() {
+        BoardModel board = new BoardModel(4);
+        board.setExponent(15, 1);
+        for (String name : new String[] {"random", "greedy", "corner", "expectimax", "montecarlo"}) {
+            try (MovePolicy policy = MovePolicy.create(name, 1L)) {
+                Direction dir = policy.choose(board);
+                assertNotNull(dir);
+                assertTrue(dir == Direction.LEFT || dir == Direction.UP, name);
+            }
+        }
+
+        for (int i = 0; i < 16; i++) {
+            board.setExponent(i, ((i / 4) + (i % 4)) % 2 + 1);
+        }
+        assertNull(MovePolicy.create("greedy", 1L).choose(board));
+        assertThrows(IllegalArgumentException.class, () -> MovePolicy.create("nope", 1L));
+    }
+
+    /**
+     * Tests the move limit on a large board.
+     */
+    @Test
+    public void testMoveLimit() {
+        try (SimulationRunner runner = new SimulationRunner(2, 50)) {
+            SimulationStats stats = runner.run(10, "corner", 4, new SpawnRng(7L));
+            assertEquals(4, stats.truncated());
+            assertEquals(200, stats.moves());
+        }
+    }
+
+    /**
+     * Tests that merging many worker results keeps every score and the percentiles.
+     */
+    @Test
+    public void testMergeManyChunks() {
+        SimulationStats total = new SimulationStats();
+        for (int chunk = 0; chunk < 500; chunk++) {
+            SimulationStats part = new SimulationStats();
+            for (int g = 0; g < 10; g++) {
+                part.record(chunk * 10L + g + 1, 1, 3, false);
+            }
+            total.merge(part);
+        }
+        assertEquals(5000, total.games());
+        assertEquals(5000, total.maxTileCount(3));
+        assertEquals(1, total.scorePercentile(0));
+        assertEquals(2500, total.scorePercentile(50));
+        assertEquals(5000, total.scorePercentile(100));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.SpawnRng;
+
+/**
+ * Unit tests for {@link SpawnRng}: determinism, batching and splitting.
+ */
+public class SpawnRngTest {
+
+    /**
+     * Plays a fixed move pattern with spawns and returns the final board.
+     *
+     * @param rng  spawn generator
+     * @param size grid size
+     * @return final exponents
+     */
+    private static byte[] play(SpawnRng rng, int size) {
+        BoardModel board = new BoardModel(size);
+        board.spawn(rng);
+        board.spawn(rng);
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < 500 && board.canMove(); i++) {
+            if (board.move(dirs[i % 4]) >= 0) board.spawn(rng);
+        }
+        byte[] out = new byte[board.cellCount()];
+        board.copyTo(out);
+        return out;
+    }
+
+    /**
+     * Tests that the same seed replays the same game whatever the batch size.
+     */
+    @Test
+    public void testSeedDeterminesGame() {
+        byte[] a = play(new SpawnRng(1234L), 4);
+        byte[] b = play(new SpawnRng(1234L, 1), 4);
+        byte[] c = play(new SpawnRng(1234L, 1000), 4);
+        assertArrayEquals(a, b);
+        assertArrayEquals(a, c);
+    }
+
+    /**
+     * Tests that splitting is reproducible and does not disturb the parent's sequence.
+     */
+    @Test
+    public void testSplitIsReproducibleAndIndependent() {
+        SpawnRng parent = new SpawnRng(99L);
+        SpawnRng untouched = new SpawnRng(99L);
+        SpawnRng child = parent.split();
+        assertTrue(child.isSeeded());
+        assertEquals(new SpawnRng(99L).split().seed(), child.seed());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(untouched.nextDecision(), parent.nextDecision());
+        }
+    }
+
+    /**
+     * Tests the decision mapping: slots stay in range and both tile values occur.
+     */
+    @Test
+    public void testDecisionMapping() {
+        SpawnRng rng = new SpawnRng(5L);
+        boolean sawTwo = false, sawFour = false;
+        for (int i = 0; i < 1000; i++) {
+            long peeked = rng.peekDecision();
+            long d = rng.nextDecision();
+            assertEquals(peeked, d);
+            int slot = SpawnRng.slot(d, 7);
+            assertTrue(slot >= 0 && slot < 7);
+            sawTwo |= SpawnRng.exponent(d) == 1;
+            sawFour |= SpawnRng.exponent(d) == 2;
+        }
+        assertTrue(sawTwo && sawFour);
+        assertFalse(new SpawnRng().isSeeded());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.TilePalette;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Unit tests for {@link TilePalette}. Colors are plain values, so no toolkit is needed.
+ */
+public class TilePaletteTest {
+
+    /**
+     * Tests a few fixed entries and that lookups return shared instances.
+     */
+    @Test
+    public void testEntriesAreFixedAndShared() {
+        TilePalette palette = TilePalette.standard();
+        assertEquals(Color.rgb(224, 226, 226, 0.45), palette.tileColor(0));
+        assertEquals(Color.rgb(255, 145, 100, 0.82), palette.tileColor(11));
+        assertSame(palette.tileColor(11), TilePalette.standard().tileColor(11));
+        assertEquals(11, TilePalette.exponentOf(2048));
+        assertEquals(0, TilePalette.exponentOf(0));
+    }
+
+    /**
+     * Tests the light-text flag: dark text on cool tiles, light text from 128 up.
+     */
+    @Test
+    public void testLightTextFlag() {
+        TilePalette palette = TilePalette.standard();
+        for (int e = 0; e < 7; e++) {
+            assertFalse(palette.isLightText(e));
+        }
+        for (int e = 7; e < TilePalette.SIZE; e++) {
+            assertTrue(palette.isLightText(e));
+            assertSame(palette.textColor(7), palette.textColor(e));
+        }
+        assertEquals(Color.rgb(30, 35, 45, 0.92), palette.textColor(0));
+        assertEquals(Color.rgb(250, 252, 255, 0.95), palette.textColor(7));
+        assertEquals(Color.color(0.95, 0.25, 0.30, 0.92), palette.tileColor(TilePalette.SIZE - 1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.BoardModel;
+import com.example.demo.model.Direction;
+import com.example.demo.model.MoveDelta;
+import com.example.demo.model.SpawnRng;
+import com.example.demo.model.Zobrist;
+
+/**
+ * Unit tests for {@link Zobrist} and the hash kept by {@link BoardModel}.
+ */
+public class ZobristTest {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Tests that the incrementally kept hash always equals a full recompute,
+     * and that replaying each move's delta reaches the same hash.
+     */
+    @Test
+    public void testIncrementalHashMatchesRecompute() {
+        for (int size : new int[] {4, 8, 10}) {
+            BoardModel board = new BoardModel(size);
+            SpawnRng rng = new SpawnRng(size);
+            MoveDelta delta = new MoveDelta(board.cellCount());
+            byte[] cells = new byte[board.cellCount()];
+            board.spawn(rng);
+            for (int step = 0; step < 2000 && board.canMove(); step++) {
+                long before = board.hash();
+                Direction dir = DIRECTIONS[(int) (rng.nextDecision() & 3)];
+                if (board.move(dir, delta) < 0) continue;
+                board.spawn(rng, delta);
+
+                board.copyTo(cells);
+                assertEquals(Zobrist.hash(cells), board.hash(), "size " + size + " step " + step);
+                assertEquals(board.hash(), Zobrist.apply(before, delta, 0), "size " + size + " step " + step);
+            }
+            board.clear();
+            assertEquals(0, board.hash());
+        }
+    }
+
+    /**
+     * Collects the distinct positions of many random games on the large
+     * boards and checks the hash statistics: no full 64-bit collisions, and a
+     * number of collisions in the low 16 bits close to what a uniform hash gives.
+     */
+    @Test
+    public void testCollisionStatistics() {
+        Map<Long, ByteBuffer> seen = new HashMap<>();
+        Set<ByteBuffer> positions = new HashSet<>();
+        int fullCollisions = 0;
+        SpawnRng root = new SpawnRng(19L);
+        for (int game = 0; game < 40; game++) {
+            int size = game % 2 == 0 ? 8 : 10;
+            BoardModel board = new BoardModel(size);
+            SpawnRng rng = root.split();
+            board.spawn(rng);
+            for (int step = 0; step < 1500 && board.canMove(); step++) {
+                if (board.move(DIRECTIONS[(int) (rng.nextDecision() & 3)]) < 0) continue;
+                board.spawn(rng);
+                byte[] cells = new byte[board.cellCount()];
+                board.copyTo(cells);
+                ByteBuffer position = ByteBuffer.wrap(cells);
+                if (!positions.add(position)) continue;
+                ByteBuffer other = seen.putIfAbsent(board.hash(), position);
+                if (other != null) fullCollisions++;
+            }
+        }
+        assertEquals(0, fullCollisions);
+
+        int n = positions.size();
+        int buckets = 1 << 16;
+        Set<Long> low = new HashSet<>();
+        for (long h : seen.keySet()) low.add(h & (buckets - 1));
+        int lowCollisions = n - low.size();
+        double expected = n - buckets * (1 - Math.pow(1 - 1.0 / buckets, n));
+        assertTrue(n > 20_000, "positions " + n);
+        assertTrue(Math.abs(lowCollisions - expected) < 0.1 * expected,
+            "low-16-bit collisions " + lowCollisions + ", expected " + expected);
+    }
+}